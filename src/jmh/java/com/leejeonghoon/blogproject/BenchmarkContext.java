@@ -0,0 +1,45 @@
+package com.leejeonghoon.blogproject;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 벤치마크용 애플리케이션 컨텍스트. MySQL/Redis 대신 H2 인메모리 DB와 프로세스 내부 저장소로 기동한다.
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "OFF");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "OFF");
+        properties.put("logging.level.org.springframework", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        properties.put("logging.level.org.springdoc", "WARN");
+        properties.put("server.port", "0");
+        // 관리 포트(기본 8081)는 동시에 뜬 포크나 개발 서버와 겹치지 않게 임의 포트를 쓴다.
+        properties.put("management.server.port", "0");
+        // 노드 id 가 없으면 기동하지 않는다. 포크마다 프로세스가 따로이므로 같은 값이어도 된다.
+        properties.put("app.id.node-id", "0");
+        properties.put("app.state-store", "memory");
+        properties.put("password.bcrypt.strength", "4");
+        properties.put("file.upload.dir", System.getProperty("java.io.tmpdir") + "/blog-bench/profile-images/");
+        properties.putAll(overrides);
+
+        // application.yml 보다 우선하도록 커맨드라인 인자로 넘긴다.
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplication(BlogProjectApplication.class).run(args);
+    }
+}
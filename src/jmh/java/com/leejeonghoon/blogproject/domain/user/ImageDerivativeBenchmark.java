@@ -0,0 +1,84 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageDerivativeGenerator;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 원본 한 장에서 모든 크기의 썸네일을 만드는 시간. 이미지당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 본다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Djava.awt.headless=true"})
+public class ImageDerivativeBenchmark {
+
+    // 원본의 긴 변 픽셀 (4:3)
+    @Param({"1024", "3000", "6000"})
+    public int sourceSize;
+
+    @Param({"jpg", "png"})
+    public String format;
+
+    private ImageDerivativeGenerator generator;
+    private String key;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path uploadDir = Files.createTempDirectory("blog-bench-derivatives");
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        storage.initializeLayout();
+        generator = new ImageDerivativeGenerator(storage, new int[]{64, 128, 256, 1024}, 0.85f);
+
+        BufferedImage source = photoLike(sourceSize, sourceSize * 3 / 4);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(source, format, encoded);
+        key = storage.store(new ByteArrayInputStream(encoded.toByteArray()), format).key();
+    }
+
+    @Benchmark
+    public void generate() throws IOException {
+        generator.generate(key);
+    }
+
+    // 그라디언트에 노이즈를 섞어 실제 사진과 비슷한 압축률이 나오게 한다.
+    private static BufferedImage photoLike(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, new Color(40, 90, 160), width, height, new Color(230, 180, 90)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(32) - 16;
+                int rgb = image.getRGB(x, y);
+                int r = clamp(((rgb >> 16) & 0xFF) + noise);
+                int g = clamp(((rgb >> 8) & 0xFF) + noise);
+                int b = clamp((rgb & 0xFF) + noise);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
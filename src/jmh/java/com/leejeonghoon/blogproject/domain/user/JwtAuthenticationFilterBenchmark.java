@@ -0,0 +1,73 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtAuthenticationFilter;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtClaimsCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import com.leejeonghoon.blogproject.domain.user.jwt.SessionVersionCache;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 인증 필터 전체 비용(단계별 타이머 기록 포함). 같은 Bearer 토큰을 반복해서 보내는 클라이언트를 가정한다.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(
+                new JwtUtil(JwtTokenProviderBenchmark.SECRET, 300_000, 1_209_600_000), new JwtClaimsCache(cacheSize));
+        SessionVersionCache sessionVersionCache = new SessionVersionCache(stubUserRepository(), 30_000, 100_000);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, sessionVersionCache,
+                new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+
+        String token = jwtTokenProvider.createToken(1L, "benchUser", "bench@example.com", "benchNickname", Role.ROLE_USER, 0, "family");
+        request = new MockHttpServletRequest("GET", "/api/users/my_info");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // 세션 버전 조회만 응답하는 저장소 (DB 없이 필터 자체 비용만 잰다)
+    static UserRepository stubUserRepository() {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findTokenVersionById")) {
+                        return Optional.of(0L);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
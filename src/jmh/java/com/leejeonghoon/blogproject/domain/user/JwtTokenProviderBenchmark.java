@@ -0,0 +1,58 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtClaimsCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급/검증/인증 객체 생성 비용. cacheSize 0 은 매 요청 서명 검증, 10000 은 검증된 클레임 캐시 사용.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "cJkrc+It1lczSEeE9vrSROLZqx2jf1LhHOAfELCohxo=";
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(new JwtUtil(SECRET, 300_000, 1_209_600_000), new JwtClaimsCache(cacheSize));
+        token = createToken();
+        claims = jwtTokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken(1L, "benchUser", "bench@example.com", "benchNickname", Role.ROLE_USER, 0, "family");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtTokenProvider.getAuthentication(token);
+    }
+
+    // 필터에서처럼 이미 파싱된 클레임으로 인증 객체만 만드는 비용
+    @Benchmark
+    public Authentication getAuthenticationFromClaims() {
+        return jwtTokenProvider.getAuthentication(claims);
+    }
+}
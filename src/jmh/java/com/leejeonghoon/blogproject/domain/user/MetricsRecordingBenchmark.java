@@ -0,0 +1,78 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.metrics.RepositoryInvocationTimers;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+
+import java.util.concurrent.TimeUnit;
+
+// 지표 기록 한 번의 비용. -prof gc 의 gc.alloc.rate.norm 이 0 에 가까워야 한다(요청 경로에서 할당 없음).
+// - timer: 등록해 둔 히스토그램 타이머에 nanoTime 차이 기록(인증 필터 단계)
+// - repository: 리포지토리 호출 리스너(타이머 조회 + 기록). invocation 은 Spring Data 가 만드는 것이므로 미리 만들어 둔다.
+// - imageIo: 이미지 I/O 시간 + 크기
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MetricsRecordingBenchmark {
+
+    private PrometheusMeterRegistry registry;
+    private Timer timer;
+    private RepositoryInvocationTimers repositoryTimers;
+    private RepositoryMethodInvocation invocation;
+    private ImageIoMetrics imageIoMetrics;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        timer = Timer.builder("bench.timer").publishPercentileHistogram().register(registry);
+        repositoryTimers = new RepositoryInvocationTimers(registry);
+        imageIoMetrics = new ImageIoMetrics(registry);
+
+        RepositoryMethodInvocationResult success = new RepositoryMethodInvocationResult() {
+            @Override
+            public State getState() {
+                return State.SUCCESS;
+            }
+
+            @Override
+            public Throwable getError() {
+                return null;
+            }
+        };
+        invocation = new RepositoryMethodInvocation(UserRepository.class,
+                UserRepository.class.getMethod("findByLoginId", String.class), success, 250_000);
+    }
+
+    @Benchmark
+    public void timer() {
+        long started = System.nanoTime();
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void repository() {
+        repositoryTimers.afterInvocation(invocation);
+    }
+
+    @Benchmark
+    public void imageIo() {
+        imageIoMetrics.record(ImageIoMetrics.Operation.SERVE, 48_000, 120_000);
+    }
+
+    // 수집 한 번의 비용(참고용)
+    @Benchmark
+    @Threads(1)
+    public String scrape() {
+        return registry.scrape();
+    }
+}
@@ -0,0 +1,94 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.search.NicknamePrefixIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 닉네임 자동완성 조회 시간과 색인 메모리.
+// - packed: NicknamePrefixIndex (정렬된 UTF-8 바이트 배열 + 변경분)
+// - skipList: String 을 그대로 담은 ConcurrentSkipListSet 의 subSet 조회
+// 각 색인의 힙 사용량은 setup 에서 GC 전후 used heap 차이로 재서 출력한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class NicknamePrefixIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    private int nicknames;
+
+    private NicknamePrefixIndex packed;
+    private NavigableSet<String> skipList;
+    private String[] prefixes;
+
+    @Setup
+    public void setUp() {
+        List<String> values = new ArrayList<>(nicknames);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < nicknames; i++) {
+            values.add((random.nextBoolean() ? "dev" : "개발") + Long.toString(random.nextLong(1L << 40), 36));
+        }
+
+        long before = usedHeap();
+        packed = new NicknamePrefixIndex(10_000);
+        packed.load(values::forEach);
+        long packedBytes = usedHeap() - before;
+
+        before = usedHeap();
+        skipList = new ConcurrentSkipListSet<>(values);
+        long skipListBytes = usedHeap() - before;
+
+        System.out.printf("%n[memory] packed=%,dB (estimate %,dB), skipList=%,dB (문자열 포함)%n",
+                packedBytes, packed.memoryBytes(), skipListBytes);
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String value = values.get(random.nextInt(values.size()));
+            prefixes[i] = value.substring(0, Math.min(value.length(), 3 + random.nextInt(3)));
+        }
+    }
+
+    @Benchmark
+    public List<String> packed() {
+        return packed.search(nextPrefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> skipList() {
+        String prefix = nextPrefix();
+        return skipList.subSet(prefix, true, prefix + Character.MAX_VALUE, false).stream().limit(LIMIT).toList();
+    }
+
+    // 변경분이 쌓인 상태의 조회 (압축 전 delta 병합 비용)
+    @Benchmark
+    public List<String> packedWithWrites() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) == 0) {
+            packed.add("dev" + Long.toString(random.nextLong(1L << 40), 36));
+        }
+        return packed.search(nextPrefix(), LIMIT);
+    }
+
+    private String nextPrefix() {
+        return prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,92 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import com.leejeonghoon.blogproject.domain.user.jwt.RedisTokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 블룸 필터 사본이 요청당 Redis 호출을 얼마나 없애는지 비교한다.
+// direct 는 매 요청 hasKey 를 호출하던 이전 방식, nearCache 는 RedisTokenRevocationStore.
+// redisCalls 보조 카운터(요청당 Redis 호출 수)가 결과 JSON에 함께 기록된다.
+// revoked 는 다른 노드에서 pub/sub 으로 받아 사본에 들어 있는 폐기 수다. 조회하는 토큰은 모두 폐기되지 않은 토큰이라
+// nearCache 의 Redis 호출은 블룸 필터 오탐으로만 생긴다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RedisTokenRevocationStoreBenchmark {
+
+    @Param({"0", "100000"})
+    public int revoked;
+
+    private CountingRedisTemplate redisTemplate;
+    private RedisTokenRevocationStore revocationStore;
+    private TokenDigest[] tokens;
+    private int index;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RedisCalls {
+        public long redisCalls;
+    }
+
+    @Setup
+    public void setUp() {
+        redisTemplate = new CountingRedisTemplate();
+        revocationStore = new RedisTokenRevocationStore(redisTemplate,
+                new JwtUtil(JwtTokenProviderBenchmark.SECRET, 300_000, 1_209_600_000), 100_000, 0.001);
+        byte[] channel = RedisTokenRevocationStore.CHANNEL.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < revoked; i++) {
+            byte[] body = TokenDigest.of("revoked-" + i).toHex().getBytes(StandardCharsets.US_ASCII);
+            revocationStore.onMessage(new DefaultMessage(channel, body), null);
+        }
+        tokens = new TokenDigest[4096];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = TokenDigest.of("token-" + i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean direct(RedisCalls calls) {
+        long before = redisTemplate.calls.sum();
+        boolean revoked = Boolean.TRUE.equals(redisTemplate.hasKey("jwt:revoked:" + next().toHex()));
+        calls.redisCalls += redisTemplate.calls.sum() - before;
+        return revoked;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean nearCache(RedisCalls calls) {
+        long before = redisTemplate.calls.sum();
+        boolean revoked = revocationStore.isRevoked(next());
+        calls.redisCalls += redisTemplate.calls.sum() - before;
+        return revoked;
+    }
+
+    private TokenDigest next() {
+        index = (index + 1) & (tokens.length - 1);
+        return tokens[index];
+    }
+
+    // 네트워크 없이 호출 횟수만 세는 Redis 대역
+    static class CountingRedisTemplate extends RedisTemplate<String, String> {
+
+        final LongAdder calls = new LongAdder();
+
+        @Override
+        public Boolean hasKey(String key) {
+            calls.increment();
+            return false;
+        }
+    }
+}
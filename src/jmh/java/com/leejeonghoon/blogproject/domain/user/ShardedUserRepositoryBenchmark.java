@@ -0,0 +1,94 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.shard.ShardLayout;
+import com.leejeonghoon.blogproject.domain.user.shard.ShardedUserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 샤드 수에 따른 처리량 비교. 샤드마다 별도의 H2 인메모리 DB 와 커넥션 풀을 둔다.
+// - findByLoginId: 샤드 하나만 읽으므로 샤드 수만큼 잠금 경합이 나뉜다.
+// - register: 샤드 쓰기는 나뉘지만 디렉터리(id 발급, email/nickname 조회 테이블) 쓰기는 전역 DB 하나를 거친다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardedUserRepositoryBenchmark {
+
+    private static final int PRELOADED_USERS = 20_000;
+    private static final int POOL_SIZE = 8;
+
+    @Param({"1", "2", "4", "8"})
+    private int shardCount;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    private ShardedUserRepository repository;
+
+    @Setup
+    public void setUp() {
+        String run = UUID.randomUUID().toString();
+        DataSource directory = pool("directory-" + run);
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(pool("shard-" + i + "-" + run));
+        }
+
+        repository = new ShardedUserRepository(directory, shards, ShardLayout.stable(shardCount),
+                TsidFactory.forNode(1));
+        repository.initializeSchema();
+        for (int i = 0; i < PRELOADED_USERS; i++) {
+            repository.save(user("preloaded" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSources.forEach(HikariDataSource::close);
+        dataSources.clear();
+    }
+
+    @Benchmark
+    public UserEntity findByLoginId() {
+        return repository.findByLoginId("preloaded" + ThreadLocalRandom.current().nextInt(PRELOADED_USERS))
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public UserEntity register() {
+        return repository.save(user("bench" + sequence.incrementAndGet()));
+    }
+
+    private DataSource pool(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static UserEntity user(String loginId) {
+        return UserEntity.builder()
+                .loginId(loginId)
+                .password("encoded")
+                .email(loginId + "@bench.com")
+                .nickname("nick-" + loginId)
+                .role(Role.ROLE_USER)
+                .build();
+    }
+}
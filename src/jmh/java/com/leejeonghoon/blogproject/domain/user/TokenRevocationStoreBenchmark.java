@@ -0,0 +1,80 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.jwt.InMemoryTokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 메모리 폐기 저장소의 조회/기록 처리량과 항목당 메모리. 항목당 바이트는 Setup 에서 표준 출력으로 남긴다.
+// 측정 결과는 src/jmh/results/token-revocation-store.md 에 기록한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TokenRevocationStoreBenchmark {
+
+    @Param({"100000", "1000000", "5000000"})
+    public int entries;
+
+    private InMemoryTokenRevocationStore store;
+    private TokenDigest[] revoked;
+    private TokenDigest[] active;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        revoked = new TokenDigest[4096];
+        active = new TokenDigest[4096];
+        for (int i = 0; i < revoked.length; i++) {
+            revoked[i] = new TokenDigest(i * 0x9E3779B97F4A7C15L, i);
+            active[i] = TokenDigest.of("active-" + i);
+        }
+
+        long before = usedHeap();
+        store = new InMemoryTokenRevocationStore(1024, 1_000);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < entries; i++) {
+            store.revoke(new TokenDigest(i * 0x9E3779B97F4A7C15L, i), expiresAt);
+        }
+        long after = usedHeap();
+        System.out.printf("%n[revocation-store] entries=%d, heap=%d bytes, %.1f bytes/entry%n",
+                entries, after - before, (double) (after - before) / entries);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean isRevokedMiss() {
+        return store.isRevoked(active[ThreadLocalRandom.current().nextInt(active.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean isRevokedHit() {
+        return store.isRevoked(revoked[ThreadLocalRandom.current().nextInt(revoked.length)]);
+    }
+
+    // 기록한 항목은 1초 뒤 만료되고 반복마다 정리되므로, 운영처럼 테이블 크기가 entries 근처에 머문다.
+    // (정리하지 않으면 5,000,000 에서 반복이 거듭될수록 테이블이 커져 -Xmx4g 를 넘는다)
+    @Benchmark
+    public boolean revoke() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return store.revoke(new TokenDigest(random.nextLong(), random.nextLong()),
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(1));
+    }
+
+    @TearDown(Level.Iteration)
+    public void expire() {
+        store.expire();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,67 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService.Field;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 가입 폼 중복 확인 처리량. 입력 중인 값은 대부분 아직 없는 값이므로 free 가 일반적인 경우다.
+// - free: 필터에서 바로 답한다.
+// - taken: 필터에 있으므로 DB 까지 간다(블룸 필터 도입 전에는 모든 확인이 이 경로였다).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UserAvailabilityBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private HikariDataSource dataSource;
+    private UserAvailabilityService service;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:availability-bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(8);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table users (id bigint primary key, login_id varchar(255) unique, " +
+                "email varchar(255) unique, nickname varchar(255) unique)");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            rows.add(new Object[]{i, "user" + i, "user" + i + "@bench.com", "nick" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, login_id, email, nickname) values (?, ?, ?, ?)", rows);
+
+        service = new UserAvailabilityService(jdbcTemplate, new SimpleMeterRegistry(), USERS, 0.01, 5000);
+        service.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean free() {
+        return service.isAvailable(Field.LOGIN_ID, "candidate" + ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public boolean taken() {
+        return service.isAvailable(Field.LOGIN_ID, "user" + (1 + ThreadLocalRandom.current().nextInt(USERS)));
+    }
+}
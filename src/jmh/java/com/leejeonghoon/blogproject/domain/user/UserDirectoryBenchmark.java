@@ -0,0 +1,97 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryEntry;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryPage;
+import com.leejeonghoon.blogproject.domain.user.service.ProfileImageService;
+import com.leejeonghoon.blogproject.domain.user.service.UserDirectoryService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 사용자 목록 페이지 조회 시간. 같은 정렬(create_date desc, id desc)로 page 번째 페이지(20행)를 읽는다.
+// - keyset: 앞 페이지의 마지막 행을 커서로 넘긴다. 페이지 번호와 무관하게 일정해야 한다.
+// - offset: LIMIT/OFFSET. 앞의 행을 모두 건너뛰므로 페이지 번호에 비례해 느려진다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class UserDirectoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int USERS = 2_000_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1", "1000", "100000"})
+    private int page;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private UserDirectoryService service;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:directory-bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table users (id bigint primary key, nickname varchar(255) not null, " +
+                "profile_image varchar(255), role varchar(255), create_date timestamp not null)");
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 1; i <= USERS; i++) {
+            // 초당 두 명 꼴로 가입해 같은 create_date 가 섞인다.
+            rows.add(new Object[]{i, "nick" + i, "ROLE_USER", Timestamp.valueOf(BASE.plusSeconds(i / 2))});
+            if (rows.size() == 10_000) {
+                jdbcTemplate.batchUpdate("insert into users (id, nickname, role, create_date) values (?, ?, ?, ?)",
+                        rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("create index idx_users_create_date_id on users (create_date, id)");
+
+        service = new UserDirectoryService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new ProfileImageService(null, null, null),
+                JsonMapper.builder().findAndAddModules().build(), new SimpleMeterRegistry(), PAGE_SIZE, 1000);
+
+        // page 번째 페이지의 커서 = 앞 페이지 마지막 행
+        if (page > 1) {
+            UserDirectoryEntry last = jdbcTemplate.queryForObject(
+                    "select id, create_date from users order by create_date desc, id desc limit 1 offset ?",
+                    (rs, rowNum) -> UserDirectoryEntry.builder()
+                            .userId(rs.getLong("id"))
+                            .createDate(rs.getTimestamp("create_date").toLocalDateTime())
+                            .build(),
+                    (page - 1) * PAGE_SIZE - 1);
+            cursor = UserDirectoryService.cursorOf(last);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public UserDirectoryPage keyset() {
+        return service.list(cursor, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public List<Long> offset() {
+        return jdbcTemplate.queryForList("select id from users order by create_date desc, id desc limit ? offset ?",
+                Long.class, PAGE_SIZE, (page - 1) * PAGE_SIZE);
+    }
+}
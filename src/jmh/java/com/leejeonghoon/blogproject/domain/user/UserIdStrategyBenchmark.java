@@ -0,0 +1,138 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.BenchmarkContext;
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자 100명을 한 트랜잭션에 넣는 비용 비교(배치 크기 = hibernate.jdbc.batch_size).
+// - identityPerRow: 이전 방식(IDENTITY). 생성된 키를 받아야 하므로 행마다 INSERT 를 한 번씩 실행한다.
+// - tsidBatched: 현재 방식. id 를 미리 발급해 JDBC 배치 한 번으로 보낸다.
+// - jpaSaveAll: 현재 UserEntity(@Tsid)를 JPA 로 저장. Hibernate 가 배치로 묶는지 함께 확인한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserIdStrategyBenchmark {
+
+    private static final int USERS_PER_TRANSACTION = 100;
+    private static final String COLUMNS = "login_id, password, nickname, email, role, token_version";
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final TsidFactory tsidFactory = TsidFactory.forNode(1);
+
+    private Connection connection;
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:id-bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table identity_users (id bigint auto_increment primary key, " +
+                    "login_id varchar(255) not null unique, password varchar(255) not null, " +
+                    "nickname varchar(255) not null unique, email varchar(255) not null unique, " +
+                    "role varchar(255), token_version bigint not null)");
+            statement.execute("create table tsid_users (id bigint primary key, " +
+                    "login_id varchar(255) not null unique, password varchar(255) not null, " +
+                    "nickname varchar(255) not null unique, email varchar(255) not null unique, " +
+                    "role varchar(255), token_version bigint not null)");
+        }
+
+        context = BenchmarkContext.start("user-id-bench", Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", "50",
+                "spring.jpa.properties.hibernate.order_inserts", "true"));
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        context.close();
+    }
+
+    @Benchmark
+    public long identityPerRow() throws SQLException {
+        long last = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into identity_users (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < USERS_PER_TRANSACTION; i++) {
+                bind(statement, 1, "identity" + sequence.incrementAndGet());
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    last = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return last;
+    }
+
+    @Benchmark
+    public long tsidBatched() throws SQLException {
+        long last = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into tsid_users (id, " + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < USERS_PER_TRANSACTION; i++) {
+                last = tsidFactory.generate();
+                statement.setLong(1, last);
+                bind(statement, 2, "tsid" + sequence.incrementAndGet());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return last;
+    }
+
+    @Benchmark
+    public List<UserEntity> jpaSaveAll() {
+        List<UserEntity> users = new ArrayList<>(USERS_PER_TRANSACTION);
+        for (int i = 0; i < USERS_PER_TRANSACTION; i++) {
+            String loginId = "jpa" + sequence.incrementAndGet();
+            users.add(UserEntity.builder()
+                    .loginId(loginId)
+                    .password("encoded")
+                    .nickname("nick-" + loginId)
+                    .email(loginId + "@bench.com")
+                    .role(Role.ROLE_USER)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> userRepository.saveAll(users));
+    }
+
+    private static void bind(PreparedStatement statement, int from, String loginId) throws SQLException {
+        statement.setString(from, loginId);
+        statement.setString(from + 1, "encoded");
+        statement.setString(from + 2, "nick-" + loginId);
+        statement.setString(from + 3, loginId + "@bench.com");
+        statement.setString(from + 4, Role.ROLE_USER.name());
+        statement.setLong(from + 5, 0);
+    }
+}
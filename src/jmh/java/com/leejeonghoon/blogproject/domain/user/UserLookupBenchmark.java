@@ -0,0 +1,89 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.BenchmarkContext;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.repository.UserProfileView;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 캐시를 거치지 않은 프로필 조회 한 번의 비용 비교. 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 본다.
+// - entityReadWrite: 이전 방식. 읽기/쓰기 트랜잭션에서 엔티티 전체를 읽고(스냅샷 포함) DTO로 복사
+// - projectionReadOnly: 현재 방식. 읽기 전용 트랜잭션에서 네 컬럼만 읽는 프로젝션
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final int PRELOADED_USERS = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("user-lookup-bench", Map.of());
+        UserService userService = context.getBean(UserService.class);
+        for (int i = 0; i < PRELOADED_USERS; i++) {
+            userService.register(UserServiceBenchmark.registerRequest("preloaded" + i), null);
+        }
+
+        userRepository = context.getBean(UserRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponseDto entityReadWrite() {
+        String loginId = nextLoginId();
+        return readWrite.execute(status -> {
+            UserEntity userEntity = userRepository.findByLoginId(loginId).orElseThrow();
+            return UserResponseDto.builder()
+                    .loginId(userEntity.getLoginId())
+                    .nickname(userEntity.getNickname())
+                    .email(userEntity.getEmail())
+                    .profileImg(userEntity.getProfileImg())
+                    .build();
+        });
+    }
+
+    @Benchmark
+    public UserResponseDto projectionReadOnly() {
+        String loginId = nextLoginId();
+        return readOnly.execute(status -> {
+            UserProfileView profile = userRepository.findProfileByLoginId(loginId).orElseThrow();
+            return UserResponseDto.builder()
+                    .loginId(profile.getLoginId())
+                    .nickname(profile.getNickname())
+                    .email(profile.getEmail())
+                    .profileImg(profile.getProfileImg())
+                    .build();
+        });
+    }
+
+    private String nextLoginId() {
+        return "preloaded" + (sequence.incrementAndGet() % PRELOADED_USERS);
+    }
+}
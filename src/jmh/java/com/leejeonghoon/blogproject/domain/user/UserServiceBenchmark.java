@@ -0,0 +1,63 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.BenchmarkContext;
+import com.leejeonghoon.blogproject.domain.user.dto.request.UserRegisterRequestDto;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// H2 위에서의 회원가입/내 정보 조회 비용. (BCrypt 비용은 4로 고정해서 DB/JPA 경로 비용이 보이도록 한다)
+// 내 정보 조회는 프로필 캐시를 거치므로 적중 경로의 비용이다. DB 조회 비용은 UserLookupBenchmark 를 본다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final int PRELOADED_USERS = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("user-service-bench", Map.of());
+        userService = context.getBean(UserService.class);
+        for (int i = 0; i < PRELOADED_USERS; i++) {
+            userService.register(registerRequest("preloaded" + i), null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponseDto register() {
+        return userService.register(registerRequest("bench" + sequence.incrementAndGet()), null);
+    }
+
+    @Benchmark
+    public UserResponseDto getUserInfoByLoginId() {
+        return userService.getUserInfoByLoginId("preloaded" + (sequence.incrementAndGet() % PRELOADED_USERS));
+    }
+
+    static UserRegisterRequestDto registerRequest(String loginId) {
+        return UserRegisterRequestDto.builder()
+                .loginId(loginId)
+                .password("bench-password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.leejeonghoon.blogproject.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+// -Ploadtest.* 로 넘어온 시스템 프로퍼티를 읽는다.
+public record LoadTestOptions(
+        double rate,
+        int warmupSeconds,
+        int durationSeconds,
+        int users,
+        Map<Operation, Integer> mix,
+        Path reportPath,
+        Path baselinePath,
+        boolean saveBaseline
+) {
+
+    private static final String DEFAULT_MIX = "register=5,login=15,my_info=50,other_info=25,logout=5";
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Double.parseDouble(property("rate", "100")),
+                Integer.parseInt(property("warmup", "10")),
+                Integer.parseInt(property("duration", "60")),
+                Integer.parseInt(property("users", "200")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Path.of(property("report", "build/reports/loadtest/latest.json")),
+                Path.of(property("baseline", "src/loadtest/baseline.json")),
+                Boolean.parseBoolean(property("save-baseline", "false"))
+        );
+    }
+
+    // "login=20,my_info=80" 형식. 값은 상대 가중치이며 합이 100일 필요는 없다.
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("트래픽 비율 형식이 올바르지 않습니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(pair[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("트래픽 비율이 비어 있습니다.");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
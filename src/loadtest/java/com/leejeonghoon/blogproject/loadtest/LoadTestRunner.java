@@ -0,0 +1,259 @@
+package com.leejeonghoon.blogproject.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leejeonghoon.blogproject.BlogProjectApplication;
+import com.leejeonghoon.blogproject.loadtest.LatencyRecorder.EndpointResult;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 애플리케이션을 H2 + 메모리 저장소(app.state-store=memory, Redis 대역)로 띄우고 /api/users 에 부하를 준다.
+//
+// 열린 모델: 요청은 응답을 기다리지 않고 정해진 도착 시각(start + i * interval)에 보낸다.
+// 응답 시간은 실제 전송 시각이 아니라 이 예정 시각부터 잰다. 서버가 밀려 발송이 늦어져도
+// 그 지연이 측정값에 포함되므로 coordinated omission 이 생기지 않는다.
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private final LoadTestOptions options;
+    private final UserApiClient api;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final AtomicLong registerSequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Operation[] weightedOperations;
+
+    LoadTestRunner(LoadTestOptions options, int port, ExecutorService callbackExecutor) {
+        this.options = options;
+        this.api = new UserApiClient(port);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(callbackExecutor)
+                .build();
+        this.weightedOperations = options.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ExecutorService callbackExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (ConfigurableApplicationContext context = startApplication()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestRunner runner = new LoadTestRunner(options, port, callbackExecutor);
+            runner.prepareUsers();
+            runner.run();
+            runner.report();
+        } finally {
+            callbackExecutor.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=OFF",
+                "--logging.level.com.leejeonghoon=WARN",
+                "--server.port=0",
+                // 관리 포트(기본 8081)가 실행 중인 개발 서버와 겹치지 않게 임의 포트를 쓴다.
+                "--management.server.port=0",
+                // 노드 id 가 없으면 기동하지 않으므로 단일 노드 값을 준다.
+                "--app.id.node-id=0",
+                "--app.state-store=memory",
+                "--file.upload.dir=" + System.getProperty("java.io.tmpdir") + "/blog-loadtest/profile-images/"
+        };
+        return new SpringApplication(BlogProjectApplication.class).run(args);
+    }
+
+    // 측정 전에 가상 사용자를 가입/로그인시켜 둔다.
+    void prepareUsers() throws IOException, InterruptedException {
+        for (int i = 0; i < options.users(); i++) {
+            VirtualUser user = new VirtualUser("lt-user-" + i, "lt-nick-" + i);
+            send(api.register(user.loginId, PASSWORD, user.loginId + "@loadtest.local", user.nickname));
+            HttpResponse<String> response = send(api.login(user.loginId, PASSWORD));
+            user.token = readToken(response.body());
+            users.add(user);
+        }
+        System.out.printf("가상 사용자 %d명 준비 완료%n", users.size());
+    }
+
+    void run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        System.out.printf("도착률 %.1f req/s, 워밍업 %ds, 측정 %ds%n",
+                options.rate(), options.warmupSeconds(), options.durationSeconds());
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            dispatch(nextOperation(), intendedStart, intendedStart >= measureFrom);
+        }
+
+        // 남은 응답을 기다린다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void dispatch(Operation operation, long intendedStart, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        VirtualUser user = users.get(random.nextInt(users.size()));
+        HttpRequest request = switch (operation) {
+            case REGISTER -> {
+                long sequence = registerSequence.incrementAndGet();
+                yield api.register("lt-new-" + sequence, PASSWORD, "lt-new-" + sequence + "@loadtest.local",
+                        "lt-new-nick-" + sequence);
+            }
+            case LOGIN -> api.login(user.loginId, PASSWORD);
+            case MY_INFO -> api.myInfo(user.currentToken());
+            case OTHER_INFO -> api.otherInfo(user.nickname);
+            case LOGOUT -> api.logout(user.currentToken());
+        };
+
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    boolean success = error == null && response.statusCode() < 400;
+                    if (success && operation == Operation.LOGIN) {
+                        user.token = readToken(response.body());
+                    }
+                    if (measured) {
+                        recorder.record(operation, latency, success);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private Operation nextOperation() {
+        return weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+    }
+
+    void report() throws IOException {
+        Map<String, EndpointResult> results = recorder.summarize(options.durationSeconds());
+
+        System.out.printf("%n%-12s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        results.forEach((endpoint, result) -> System.out.printf("%-12s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, result.count(), result.errors(), result.throughput(),
+                result.p50(), result.p99(), result.p999(), result.max()));
+
+        write(options.reportPath(), results);
+        System.out.printf("%n결과 저장: %s%n", options.reportPath());
+
+        if (Files.exists(options.baselinePath())) {
+            printDiff(objectMapper.readValue(options.baselinePath().toFile(),
+                    new TypeReference<Map<String, EndpointResult>>() {
+                    }), results);
+        }
+        if (options.saveBaseline()) {
+            write(options.baselinePath(), results);
+            System.out.printf("기준선 갱신: %s%n", options.baselinePath());
+        }
+    }
+
+    // 기준선 대비 변화율(%). 지연 시간은 양수면 느려진 것, 처리량은 음수면 줄어든 것이다.
+    private void printDiff(Map<String, EndpointResult> baseline, Map<String, EndpointResult> current) {
+        System.out.printf("%n기준선(%s) 대비%n", options.baselinePath());
+        System.out.printf("%-12s %9s %9s %9s %9s%n", "endpoint", "req/s", "p50", "p99", "p999");
+        current.forEach((endpoint, result) -> {
+            EndpointResult before = baseline.get(endpoint);
+            if (before == null) {
+                return;
+            }
+            System.out.printf("%-12s %+8.1f%% %+8.1f%% %+8.1f%% %+8.1f%%%n", endpoint,
+                    change(before.throughput(), result.throughput()),
+                    change(before.p50(), result.p50()),
+                    change(before.p99(), result.p99()),
+                    change(before.p999(), result.p999()));
+        });
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private void write(Path path, Map<String, EndpointResult> results) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), results);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("준비 요청 실패: " + request.uri() + " -> " + response.statusCode());
+        }
+        return response;
+    }
+
+    private String readToken(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            return node.path("token").asText(null);
+        } catch (IOException e) {
+            throw new IllegalStateException("로그인 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    // 로그아웃 후에도 다음 로그인 전까지는 마지막 토큰을 그대로 쓴다(서버가 거절하면 오류로 집계된다).
+    private static class VirtualUser {
+
+        private final String loginId;
+        private final String nickname;
+        private volatile String token;
+
+        private VirtualUser(String loginId, String nickname) {
+            this.loginId = loginId;
+            this.nickname = nickname;
+        }
+
+        private String currentToken() {
+            return token;
+        }
+    }
+}
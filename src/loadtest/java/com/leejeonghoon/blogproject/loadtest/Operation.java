@@ -0,0 +1,30 @@
+package com.leejeonghoon.blogproject.loadtest;
+
+import java.util.Arrays;
+
+// 부하 테스트에서 호출하는 /api/users 엔드포인트
+public enum Operation {
+
+    REGISTER("register"),
+    LOGIN("login"),
+    MY_INFO("my_info"),
+    OTHER_INFO("other_info"),
+    LOGOUT("logout");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 엔드포인트입니다: " + key));
+    }
+}
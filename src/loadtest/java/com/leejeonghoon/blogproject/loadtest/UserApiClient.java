@@ -0,0 +1,75 @@
+package com.leejeonghoon.blogproject.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// /api/users 요청을 만든다. 전송은 LoadTestRunner 가 비동기로 한다.
+public class UserApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+
+    public UserApiClient(int port) {
+        this.baseUrl = "http://localhost:" + port + "/api/users";
+    }
+
+    public HttpRequest register(String loginId, String password, String email, String nickname) {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        StringBuilder body = new StringBuilder();
+        Map.of("loginId", loginId, "password", password, "email", email, "nickname", nickname)
+                .forEach((name, value) -> body.append("--").append(boundary).append("\r\n")
+                        .append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+                        .append(value).append("\r\n"));
+        body.append("--").append(boundary).append("--\r\n");
+
+        return request("/register")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    public HttpRequest login(String loginId, String password) {
+        return request("/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form(Map.of("loginId", loginId, "password", password))))
+                .build();
+    }
+
+    public HttpRequest myInfo(String token) {
+        return request("/my_info")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    public HttpRequest otherInfo(String nickname) {
+        return request("/other_info/" + URLEncoder.encode(nickname, StandardCharsets.UTF_8))
+                .GET()
+                .build();
+    }
+
+    public HttpRequest logout(String token) {
+        return request("/logout")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private static String form(Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.leejeonghoon.blogproject.common.config;
+
+import com.leejeonghoon.blogproject.common.datasource.ReadYourWritesPinning;
+import com.leejeonghoon.blogproject.common.datasource.ReplicaDataSourceProperties;
+import com.leejeonghoon.blogproject.common.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 복제본이 하나 이상 설정되어 있을 때만 읽기/쓰기 분리 DataSource 를 사용한다.
+// 설정이 없으면 Spring Boot 기본 DataSource(spring.datasource, primary 하나)를 그대로 쓴다.
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicationRoutingDataSource routingDataSource(
+            DataSourceProperties primaryProperties,
+            ReplicaDataSourceProperties replicaProperties,
+            ReadYourWritesPinning pinning
+    ) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Replica> replicaList = replicaProperties.getReplicas();
+        for (int i = 0; i < replicaList.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicaList.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : primaryProperties.getUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : primaryProperties.getPassword())
+                    .driverClassName(replica.getDriverClassName() != null
+                            ? replica.getDriverClassName() : primaryProperties.determineDriverClassName())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.put("replica-" + i, dataSource);
+        }
+
+        return new ReplicationRoutingDataSource(primary, replicas, pinning);
+    }
+
+    // JPA 트랜잭션이 읽기 전용 여부를 정한 뒤 첫 쿼리 시점에 실제 커넥션을 고르도록 지연 프록시로 감싼다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
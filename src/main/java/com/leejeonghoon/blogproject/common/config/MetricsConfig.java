@@ -0,0 +1,47 @@
+package com.leejeonghoon.blogproject.common.config;
+
+import com.leejeonghoon.blogproject.common.metrics.RepositoryInvocationTimers;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.time.Duration;
+
+// 지표는 /actuator/prometheus 로 수집한다.
+@Configuration
+public class MetricsConfig {
+
+    // 모든 리포지토리 팩토리에 호출 시간 리스너를 붙인다. 리스너는 첫 리포지토리 호출 때 만든다.
+    @Bean
+    public static BeanPostProcessor repositoryInvocationTimersPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        SingletonSupplier<RepositoryInvocationTimers> timers =
+                SingletonSupplier.of(() -> new RepositoryInvocationTimers(meterRegistry.getObject()));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(invocation -> timers.obtain().afterInvocation(invocation)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Redis(Lettuce) 명령 지연: lettuce.command.completion / firstresponse. 히스토그램을 켜고,
+    // 접속 주소별로 나누지 않아 명령 종류 수만큼만 타이머가 생긴다.
+    @Bean
+    public MicrometerOptions micrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .localDistinction(false)
+                .minLatency(Duration.ofMillis(1).dividedBy(10))
+                .maxLatency(Duration.ofSeconds(5))
+                .build();
+    }
+}
@@ -1,15 +1,72 @@
 package com.leejeonghoon.blogproject.common.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class PasswordEncoderConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    // strength 가 0 이면 기동 시 target-millis 에 맞춰 BCrypt 비용을 정한다.
+    @Value("${password.bcrypt.strength:0}")
+    private int strength;
+
+    @Value("${password.bcrypt.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${password.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    // 새 해시는 {bcrypt} 접두사로 저장하고, 접두사 없는 기존 BCrypt 해시와 {pbkdf2} 해시도 검증한다.
+    // 로그인 시 upgradeEncoding 이 true 인 해시(이전 형식 또는 낮은 비용)는 다시 해시해서 저장한다.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int bcryptStrength = strength > 0 ? strength : calibrateStrength(targetMillis, minStrength, maxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingPasswordEncoder;
+    }
+
+    // BCrypt 비용은 1 올릴 때마다 시간이 두 배가 되므로, min 비용에서 한 번 잰 시간으로 목표 시간 이하인 가장 큰 비용을 고른다.
+    public static int calibrateStrength(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(CALIBRATION_PASSWORD); // 워밍업
+
+        long started = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        double measuredMillis = Math.max(0.01, (System.nanoTime() - started) / 1_000_000.0);
+
+        int selected = minStrength;
+        double predictedMillis = measuredMillis;
+        while (selected < maxStrength && predictedMillis * 2 <= targetMillis) {
+            selected++;
+            predictedMillis *= 2;
+        }
+
+        log.info("BCrypt 비용 보정: strength={} (strength {} 측정 {}ms, 예상 {}ms, 목표 {}ms)",
+                selected, minStrength, String.format("%.1f", measuredMillis),
+                String.format("%.1f", predictedMillis), targetMillis);
+        return selected;
     }
 }
@@ -0,0 +1,29 @@
+package com.leejeonghoon.blogproject.common.config;
+
+import com.leejeonghoon.blogproject.domain.user.cache.RedisUserProfileCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.RedisTokenRevocationStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.state-store", havingValue = "redis", matchIfMissing = true)
+public class RedisConfig {
+
+    // 노드 간 블랙리스트, 사용자 변경 동기화를 위한 pub/sub 구독
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisTokenRevocationStore revocationStore,
+            RedisUserProfileCache userProfileCache
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(revocationStore, new ChannelTopic(RedisTokenRevocationStore.CHANNEL));
+        container.addMessageListener(userProfileCache, new ChannelTopic(RedisUserProfileCache.CHANNEL));
+        return container;
+    }
+}
@@ -2,10 +2,12 @@ package com.leejeonghoon.blogproject.common.config;
 
 import com.leejeonghoon.blogproject.domain.user.jwt.JwtAuthenticationFilter;
 import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.SessionVersionCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
@@ -19,7 +21,11 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final SessionVersionCache sessionVersionCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -38,12 +44,19 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/users/register",
                                 "/api/users/login",
+                                "/api/users/token/refresh",
+                                "/api/users/availability",
+                                "/api/images/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        // 관리 포트(management.server.port, 내부 주소에만 바인딩)로 들어온 요청만 토큰 없이 허용한다.
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort)
+                        .permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, redisTemplate),
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, sessionVersionCache, meterRegistry),
                         UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,74 @@
+package com.leejeonghoon.blogproject.common.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// 방금 쓴 사용자의 읽기를 잠시 primary 로 보낸다(read-your-writes).
+// 복제본은 비동기 복제라 가입/수정 직후 복제본에서 읽으면 이전 값이 보일 수 있다.
+// 고정 시간은 쓰기 트랜잭션이 커밋된 시점부터 window 동안이다.
+@Component
+public class ReadYourWritesPinning {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ReadYourWritesPinning(@Value("${app.datasource.read-your-writes-window:2000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void pin(String principal) {
+        if (principal == null || windowMillis <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(principal);
+                }
+            });
+        } else {
+            put(principal);
+        }
+    }
+
+    public boolean isPinned(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(principal);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            pinnedUntil.remove(principal, until);
+            return false;
+        }
+        return true;
+    }
+
+    // 현재 요청의 인증 사용자 기준
+    public boolean isCurrentPrincipalPinned() {
+        if (pinnedUntil.isEmpty()) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && isPinned(authentication.getName());
+    }
+
+    private void put(String principal) {
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() >= MAX_ENTRIES) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+        pinnedUntil.put(principal, now + windowMillis);
+    }
+}
@@ -0,0 +1,140 @@
+package com.leejeonghoon.blogproject.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 트랜잭션은 복제본으로, 나머지는 primary 로 보낸다.
+// 트랜잭션의 읽기 전용 여부는 트랜잭션 시작 이후에 정해지므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+// - 복제본은 라운드 로빈으로 고르고, 연결에 실패하거나 상태 검사에 실패한 복제본은 제외했다가 회복되면 다시 넣는다.
+// - 사용할 수 있는 복제본이 없거나 read-your-writes 고정 중인 사용자면 primary 에서 읽는다.
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesPinning pinning;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWritesPinning pinning) {
+        this.primary = primary;
+        this.pinning = pinning;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    // 복제본을 쓸 수 없는 경우 null (primary 사용)
+    Replica selectReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || pinning.isCurrentPrincipalPinned()) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // 제외된 복제본은 회복되면 다시 넣고, 정상인 복제본도 검사해 응답이 없으면 미리 제외한다.
+    @Scheduled(fixedDelayString = "${app.datasource.health-check-interval:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy && !replica.healthy) {
+                log.info("복제본 {} 이(가) 회복되어 다시 사용합니다.", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("복제본 {} 상태 검사에 실패해 제외합니다.", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public long healthyReplicaCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private void eject(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("복제본 {} 연결 실패로 제외합니다: {}", replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : collectTargets()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private List<DataSource> collectTargets() {
+        List<DataSource> targets = new ArrayList<>();
+        targets.add(primary);
+        replicas.forEach(replica -> targets.add(replica.dataSource));
+        return targets;
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
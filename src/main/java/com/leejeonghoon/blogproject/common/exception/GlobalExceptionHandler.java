@@ -3,6 +3,7 @@ package com.leejeonghoon.blogproject.common.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,6 +20,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body("잘못된 요청입니다. " + e.getMessage());
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handlerTooManyRequestsException(TooManyRequestsException e) {
+        logger.warn("요청 거절: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(e.getMessage());
+    }
+
+    // 같은 사용자를 동시에 수정해 버전이 어긋난 경우. 다시 읽고 시도하면 된다.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handlerOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        logger.warn("동시 수정 충돌: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("다른 요청이 먼저 수정했습니다. 다시 시도해주세요.");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handlerException(Exception e, HttpServletRequest request) {
         if (request.getRequestURI().startsWith("/v3/api-docs") || request.getRequestURI().startsWith("/swagger-ui")) {
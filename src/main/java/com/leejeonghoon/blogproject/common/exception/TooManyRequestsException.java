@@ -0,0 +1,9 @@
+package com.leejeonghoon.blogproject.common.exception;
+
+// 처리 용량을 넘는 요청을 즉시 거절할 때 사용한다. (429 Too Many Requests)
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
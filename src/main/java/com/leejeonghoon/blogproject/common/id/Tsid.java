@@ -0,0 +1,16 @@
+package com.leejeonghoon.blogproject.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 시간순 64bit id(TsidFactory)를 애플리케이션에서 발급한다.
+// IDENTITY 와 달리 INSERT 전에 id 가 정해지므로 Hibernate 가 INSERT 를 JDBC 배치로 묶을 수 있다.
+@IdGeneratorType(TsidIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Tsid {
+}
@@ -0,0 +1,87 @@
+package com.leejeonghoon.blogproject.common.id;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 시간순 64bit id 발급기(TSID/Snowflake 형식). DB 왕복 없이 노드마다 독립적으로 발급한다.
+// [0][밀리초 41bit][노드 10bit][순번 12bit]
+// - 노드마다 밀리초당 4096개까지 발급하고, 다 쓰면 다음 밀리초 값을 앞당겨 쓴다.
+// - 시계가 뒤로 가도 마지막으로 발급한 시각보다 작아지지 않으므로 한 노드 안에서는 항상 증가한다.
+// - 노드 간에는 시각 순으로 대략 정렬되어 B-tree 인덱스 끝에 모여 들어간다.
+public final class TsidFactory {
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    // 2024-01-01T00:00:00Z. 41bit 밀리초로 약 69년 사용할 수 있다.
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final ConcurrentHashMap<Integer, TsidFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    private final long nodeBits;
+    // (밀리초 << SEQUENCE_BITS) | 순번. 한 번의 CAS 로 시각과 순번을 함께 바꾼다.
+    private final AtomicLong state = new AtomicLong();
+
+    private TsidFactory(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 id 는 0~" + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    // 같은 노드 id 는 같은 발급기를 공유해야 순번이 겹치지 않는다.
+    public static TsidFactory forNode(int nodeId) {
+        return FACTORIES.computeIfAbsent(nodeId, TsidFactory::new);
+    }
+
+    public long generate() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            // 시각이 그대로거나 뒤로 갔으면 순번을 올린다. 순번이 넘치면 자연히 다음 밀리초로 넘어간다.
+            next = Math.max(now, previous + 1);
+        } while (!state.compareAndSet(previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    // 설정된 노드 id 를 그대로 쓴다. 설정이 없으면(음수) 허용된 경우(테스트, 단일 노드)에만 호스트 이름으로 정하고,
+    // 아니면 기동을 멈춘다. 정해 낸 값은 노드끼리 겹칠 수 있고, 겹치면 같은 밀리초에 같은 id 가 나온다.
+    public static int resolveNodeId(int configuredNodeId, boolean allowDerived) {
+        if (configuredNodeId >= 0) {
+            return configuredNodeId;
+        }
+        if (!allowDerived) {
+            throw new IllegalStateException("노드 id 가 설정되지 않았습니다. 노드마다 다른 app.id.node-id(NODE_ID, 0~"
+                    + MAX_NODE_ID + ")를 지정하세요.");
+        }
+        return defaultNodeId();
+    }
+
+    // 노드 id 를 설정하지 않았을 때의 기본값. 호스트 이름과 프로세스 id 로 정하므로 충돌할 수 있다.
+    public static int defaultNodeId() {
+        String name;
+        try {
+            name = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            name = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return Math.floorMod(name.hashCode(), MAX_NODE_ID + 1);
+    }
+}
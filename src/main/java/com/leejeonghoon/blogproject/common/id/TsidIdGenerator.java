@@ -0,0 +1,52 @@
+package com.leejeonghoon.blogproject.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Map;
+
+// @Tsid 가 붙은 id 에 TsidFactory 값을 넣는다.
+// 노드 id 는 hibernate 설정 hibernate.id.tsid.node_id(application.yml 의 app.id.node-id)에서 읽는다.
+// 음수면 hibernate.id.tsid.allow_derived_node_id(app.id.allow-derived-node-id)가 true 일 때만 자동으로 정하고, 아니면 기동을 멈춘다.
+@Slf4j
+public class TsidIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String NODE_ID_SETTING = "hibernate.id.tsid.node_id";
+    public static final String ALLOW_DERIVED_SETTING = "hibernate.id.tsid.allow_derived_node_id";
+
+    private final TsidFactory factory;
+
+    public TsidIdGenerator(Tsid config, Member member, GeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings();
+        Object setting = settings.get(NODE_ID_SETTING);
+        Object allowDerived = settings.get(ALLOW_DERIVED_SETTING);
+
+        int configured = setting != null ? Integer.parseInt(setting.toString().trim()) : -1;
+        int nodeId = TsidFactory.resolveNodeId(configured,
+                allowDerived != null && Boolean.parseBoolean(allowDerived.toString().trim()));
+        if (configured < 0) {
+            log.warn("노드 id 가 설정되지 않아 {} 를 사용합니다(단일 노드/테스트 전용).", nodeId);
+        }
+        this.factory = TsidFactory.forNode(nodeId);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return factory.generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
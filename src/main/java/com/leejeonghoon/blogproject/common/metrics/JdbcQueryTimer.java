@@ -0,0 +1,40 @@
+package com.leejeonghoon.blogproject.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 리포지토리를 거치지 않고 JdbcTemplate 으로 직접 실행하는 쿼리 시간.
+// 리포지토리 호출과 같은 repository.query 에 repository=<호출하는 클래스>, method=<쿼리 이름> 으로 기록해 한 지표에서 함께 본다.
+// 타이머는 만들 때 한 번 등록하므로 기록은 시각 두 번과 record 뿐이다.
+public final class JdbcQueryTimer {
+
+    private final Timer success;
+    private final Timer error;
+
+    public JdbcQueryTimer(MeterRegistry meterRegistry, Class<?> owner, String query) {
+        this.success = RepositoryInvocationTimers.register(meterRegistry, owner.getSimpleName(), query, "success");
+        this.error = RepositoryInvocationTimers.register(meterRegistry, owner.getSimpleName(), query, "error");
+    }
+
+    public <T> T record(Supplier<T> query) {
+        long started = System.nanoTime();
+        try {
+            T result = query.get();
+            success.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException | Error e) {
+            error.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public void run(Runnable query) {
+        record(() -> {
+            query.run();
+            return null;
+        });
+    }
+}
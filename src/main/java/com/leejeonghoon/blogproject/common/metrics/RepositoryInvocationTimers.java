@@ -0,0 +1,62 @@
+package com.leejeonghoon.blogproject.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 모든 Spring Data 리포지토리 메서드 호출 시간. repository.query{repository, method, outcome=success|error}
+// 타이머는 (리포지토리, 메서드)별로 처음 호출될 때 한 번 등록하고, 이후에는 맵 조회와 record 만 하므로 기록 자체는 할당이 없다.
+// (invocation 객체는 Spring Data 가 호출마다 만든다.)
+// 스프링 부트 기본 리포지토리 타이머(spring.data.repository.invocations)는 호출마다 태그를 만들므로 끄고 이것을 쓴다.
+public class RepositoryInvocationTimers implements RepositoryMethodInvocationListener {
+
+    private static final int SUCCESS = 0;
+    private static final int ERROR = 1;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, Timer[]>> timers = new ConcurrentHashMap<>();
+
+    public RepositoryInvocationTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        Timer[] pair = timersFor(invocation.getRepositoryInterface(), invocation.getMethod());
+        int outcome = invocation.getResult() != null
+                && invocation.getResult().getState() == RepositoryMethodInvocationResult.State.SUCCESS ? SUCCESS : ERROR;
+        pair[outcome].record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] timersFor(Class<?> repository, Method method) {
+        ConcurrentHashMap<Method, Timer[]> byMethod = timers.get(repository);
+        if (byMethod == null) {
+            byMethod = timers.computeIfAbsent(repository, key -> new ConcurrentHashMap<>());
+        }
+        Timer[] pair = byMethod.get(method);
+        if (pair == null) {
+            pair = byMethod.computeIfAbsent(method, key -> new Timer[]{
+                    register(meterRegistry, repository.getSimpleName(), key.getName(), "success"),
+                    register(meterRegistry, repository.getSimpleName(), key.getName(), "error")
+            });
+        }
+        return pair;
+    }
+
+    // JdbcQueryTimer 도 같은 이름과 설정으로 등록한다.
+    static Timer register(MeterRegistry meterRegistry, String repository, String method, String outcome) {
+        return Timer.builder("repository.query")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1).dividedBy(10))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,103 @@
+package com.leejeonghoon.blogproject.common.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 CSV 레코드를 한 건씩 읽는다. 따옴표 안의 쉼표, 줄바꿈, "" 이스케이프를 처리한다.
+// 전체를 메모리에 올리지 않으므로 아주 큰 입력도 일정한 메모리로 읽을 수 있다.
+public class CsvRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine = 1;
+    private int pushedBack = -2;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // 입력이 끝나면 null
+    public List<String> read() throws IOException {
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        recordLine = line;
+
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = next()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushBack(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                int following = next();
+                if (following != '\n') {
+                    pushBack(following);
+                }
+                line++;
+                record.add(field.toString());
+                return record;
+            } else if (c == '\n') {
+                line++;
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    // 마지막으로 읽은 레코드가 시작한 줄 번호
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    public static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private int next() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void pushBack(int c) {
+        pushedBack = c;
+    }
+}
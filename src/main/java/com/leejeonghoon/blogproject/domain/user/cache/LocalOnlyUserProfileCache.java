@@ -0,0 +1,27 @@
+package com.leejeonghoon.blogproject.domain.user.cache;
+
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// 단일 노드(app.state-store=memory)에서는 공유 계층 없이 프로세스 내부 캐시만 사용한다.
+@Component
+@ConditionalOnProperty(name = "app.state-store", havingValue = "memory")
+public class LocalOnlyUserProfileCache implements SharedUserProfileCache {
+
+    @Override
+    public Lookup get(String key) {
+        return Lookup.MISS;
+    }
+
+    @Override
+    public void put(String key, UserResponseDto profile, long generation) {
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys, UserChangedEvent event) {
+    }
+}
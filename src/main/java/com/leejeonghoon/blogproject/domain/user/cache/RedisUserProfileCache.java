@@ -0,0 +1,149 @@
+package com.leejeonghoon.blogproject.domain.user.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Redis 기반 2차 프로필 캐시. 값은 JSON 문자열로 TTL 과 함께 저장한다.
+// 변경 시 키를 지운 뒤 pub/sub 으로 다른 노드에 알리고, 받은 노드는 원격 UserChangedEvent 를 발행해 자신의 1차 캐시를 비운다.
+// 무효화는 키마다 세대 값을 올린 뒤 지운다. 저장은 조회 때 본 세대가 그대로일 때만 하는 스크립트로 처리해,
+// 무효화 전에 DB에서 읽은 로더가 늦게 옛 값을 다시 채우지 못하게 한다.
+// 두 키는 해시 태그({키})로 묶어 클러스터에서도 같은 슬롯에 둔다.
+// Redis 장애 시에는 캐시 미스로 보고 DB에서 읽는다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.state-store", havingValue = "redis", matchIfMissing = true)
+public class RedisUserProfileCache implements SharedUserProfileCache, MessageListener {
+
+    public static final String CHANNEL = "user:changed";
+
+    // 값 형식(CachedProfile)이 바뀌면 접두사를 올려 옛 형식의 값을 읽지 않게 한다.
+    private static final String KEY_PREFIX = "user:profile:v3:";
+    private static final String GENERATION_PREFIX = "user:profile:generation:";
+
+    private static final RedisScript<Long> PUT_IF_CURRENT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') == ARGV[1] then " +
+                    "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisUserProfileCache(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${user.profile-cache.shared-ttl:600000}") long ttlMillis
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Lookup get(String key) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(valueKey(key), generationKey(key)));
+            if (values == null) {
+                return Lookup.MISS;
+            }
+            String json = values.get(0);
+            long generation = values.get(1) == null ? 0 : Long.parseLong(values.get(1));
+            return new Lookup(json == null ? null : objectMapper.readValue(json, CachedProfile.class).toProfile(),
+                    generation);
+        } catch (Exception e) {
+            // 세대를 모르면 저장해도 안전한지 알 수 없으므로, -1 로 두어 이번 저장은 건너뛰게 한다.
+            log.debug("공유 프로필 캐시 조회 실패: {}", e.getMessage());
+            return new Lookup(null, -1);
+        }
+    }
+
+    @Override
+    public void put(String key, UserResponseDto profile, long generation) {
+        if (generation < 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(PUT_IF_CURRENT, List.of(valueKey(key), generationKey(key)),
+                    Long.toString(generation), objectMapper.writeValueAsString(CachedProfile.of(profile)),
+                    Long.toString(ttlMillis));
+        } catch (Exception e) {
+            log.debug("공유 프로필 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys, UserChangedEvent event) {
+        try {
+            // 세대 키가 만료되면 0 으로 돌아가므로, 진행 중인 조회보다 충분히 오래 남도록 값의 TTL 만큼 둔다.
+            for (String key : keys) {
+                redisTemplate.opsForValue().increment(generationKey(key));
+                redisTemplate.expire(generationKey(key), ttlMillis, TimeUnit.MILLISECONDS);
+            }
+            redisTemplate.delete(keys.stream().map(RedisUserProfileCache::valueKey).toList());
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(new Invalidation(nodeId, event)));
+        } catch (Exception e) {
+            // 다른 노드는 1차 캐시 TTL 이 지나면 반영된다.
+            log.warn("프로필 캐시 무효화 전파 실패: {}", e.getMessage());
+        }
+    }
+
+    // 다른 노드에서 발생한 변경 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            Invalidation invalidation = objectMapper.readValue(body, Invalidation.class);
+            if (!nodeId.equals(invalidation.origin())) {
+                eventPublisher.publishEvent(invalidation.event().asRemote());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("잘못된 사용자 변경 메시지를 무시합니다: {}", body);
+        }
+    }
+
+    private static String valueKey(String key) {
+        return KEY_PREFIX + "{" + key + "}";
+    }
+
+    private static String generationKey(String key) {
+        return GENERATION_PREFIX + "{" + key + "}";
+    }
+
+    record Invalidation(String origin, UserChangedEvent event) {
+    }
+
+    // versionTag 는 응답 JSON 에서 빠지므로(@JsonIgnore) 따로 담아 저장한다.
+    record CachedProfile(UserResponseDto profile, String versionTag) {
+
+        static CachedProfile of(UserResponseDto profile) {
+            return new CachedProfile(profile, profile.getVersionTag());
+        }
+
+        UserResponseDto toProfile() {
+            profile.setVersionTag(versionTag);
+            return profile;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.leejeonghoon.blogproject.domain.user.cache;
+
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+
+import java.util.Collection;
+
+// 노드 간에 공유하는 2차 프로필 캐시. 조회 실패는 캐시 미스로 취급한다.
+// 키마다 무효화 세대(generation)를 두어, 조회와 저장 사이에 무효화가 끼어들면 DB에서 읽은 옛 값을 저장하지 않는다.
+public interface SharedUserProfileCache {
+
+    Lookup get(String key);
+
+    // generation 은 같은 키를 get 했을 때 받은 값이다. 그 뒤로 무효화되었으면 저장하지 않는다.
+    void put(String key, UserResponseDto profile, long generation);
+
+    // 공유 캐시에서 keys 를 지우고 다른 노드에 변경을 알린다.
+    void invalidate(Collection<String> keys, UserChangedEvent event);
+
+    // profile 이 null 이면 미스다.
+    record Lookup(UserResponseDto profile, long generation) {
+
+        public static final Lookup MISS = new Lookup(null, 0);
+    }
+}
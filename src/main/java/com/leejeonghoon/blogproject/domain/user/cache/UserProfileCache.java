@@ -0,0 +1,120 @@
+package com.leejeonghoon.blogproject.domain.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 사용자 프로필(UserResponseDto) 2단계 캐시.
+// 1차: 노드 내부 Caffeine 캐시(크기 제한, TTL). 같은 키의 동시 미스는 하나의 로더 호출로 합쳐진다.
+// 2차: SharedUserProfileCache(Redis). 1차 미스일 때만 조회하고, 여기서도 없으면 DB에서 읽어 두 계층에 채운다.
+// 사용자 정보가 바뀌면 커밋 이후 두 계층에서 지우고 다른 노드에도 알린다.
+@Component
+public class UserProfileCache {
+
+    private static final String LOGIN_ID_PREFIX = "login:";
+    private static final String NICKNAME_PREFIX = "nickname:";
+
+    private final Cache<String, UserResponseDto> local;
+    private final SharedUserProfileCache shared;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Executor reinvalidateExecutor;
+
+    public UserProfileCache(
+            SharedUserProfileCache shared,
+            MeterRegistry meterRegistry,
+            @Value("${user.profile-cache.max-size:10000}") long maxSize,
+            @Value("${user.profile-cache.ttl:300000}") long ttlMillis,
+            @Value("${user.profile-cache.reinvalidate-delay:0}") long reinvalidateDelayMillis
+    ) {
+        this.shared = shared;
+        this.reinvalidateExecutor = reinvalidateDelayMillis > 0
+                ? CompletableFuture.delayedExecutor(reinvalidateDelayMillis, TimeUnit.MILLISECONDS)
+                : null;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size 등
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "user.profile");
+        this.sharedHits = Counter.builder("user.profile.shared")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder("user.profile.shared")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public UserResponseDto getByLoginId(String loginId, Supplier<UserResponseDto> loader) {
+        return get(LOGIN_ID_PREFIX + loginId, loader);
+    }
+
+    public UserResponseDto getByNickname(String nickname, Supplier<UserResponseDto> loader) {
+        return get(NICKNAME_PREFIX + nickname, loader);
+    }
+
+    // 로더가 예외를 던지면(없는 사용자 등) 캐시하지 않고 그대로 전달된다.
+    private UserResponseDto get(String key, Supplier<UserResponseDto> loader) {
+        return local.get(key, k -> {
+            SharedUserProfileCache.Lookup cached = shared.get(k);
+            if (cached.profile() != null) {
+                sharedHits.increment();
+                return cached.profile();
+            }
+            sharedMisses.increment();
+
+            // 읽는 동안 커밋된 변경의 무효화가 먼저 끝났으면 세대가 바뀌어 공유 계층에는 저장되지 않는다.
+            // 1차 계층은 무효화가 이 계산이 끝나기를 기다렸다가 지우므로 따로 막지 않아도 된다.
+            UserResponseDto loaded = loader.get();
+            shared.put(k, loaded, cached.generation());
+            return loaded;
+        });
+    }
+
+    // 로컬 변경은 트랜잭션 커밋 이후, 다른 노드에서 온 변경은 즉시 처리한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        List<String> keys = new ArrayList<>();
+        if (event.loginId() != null) {
+            keys.add(LOGIN_ID_PREFIX + event.loginId());
+        }
+        event.nicknames().forEach(nickname -> keys.add(NICKNAME_PREFIX + nickname));
+
+        // 공유 계층을 먼저 지워야 그 사이 1차 미스가 옛 값을 다시 가져오지 않는다.
+        if (!event.remote()) {
+            shared.invalidate(keys, event);
+        }
+        local.invalidateAll(keys);
+
+        // 복제본에서 읽는 경우 무효화 직후의 미스가 아직 복제되지 않은 옛 값을 다시 채울 수 있다.
+        // 복제 지연 허용 시간이 지난 뒤 한 번 더 지운다.
+        if (reinvalidateExecutor != null) {
+            CompletableFuture.runAsync(() -> {
+                if (!event.remote()) {
+                    shared.invalidate(keys, event);
+                }
+                local.invalidateAll(keys);
+            }, reinvalidateExecutor);
+        }
+    }
+
+    public long size() {
+        return local.estimatedSize();
+    }
+}
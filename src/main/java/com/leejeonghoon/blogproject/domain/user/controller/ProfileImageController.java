@@ -0,0 +1,212 @@
+package com.leejeonghoon.blogproject.domain.user.controller;
+
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+// 프로필 이미지 제공. 파일 이름이 내용 해시이므로 같은 URL의 내용은 바뀌지 않는다.
+// 그래서 해시를 그대로 강한 ETag 로 쓰고 1년 immutable 캐시를 허용한다.
+// size 파라미터를 주면 같은 디렉토리의 썸네일(<해시>.<크기>.jpg)을 준다.
+// 본문은 Tomcat sendfile 로 커널이 직접 소켓에 보내고, sendfile 을 쓸 수 없으면 FileChannel.transferTo 로 보낸다.
+@Tag(name = "[User] 프로필 이미지")
+@RestController
+@RequiredArgsConstructor
+public class ProfileImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String PENDING_DERIVATIVE_CACHE_CONTROL = "public, max-age=60";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp"
+    );
+
+    private final ContentAddressedStorage storage;
+    private final ImageIoMetrics imageIoMetrics;
+
+    @Operation(summary = "프로필 이미지", description = "size(64, 128, 256, 1024)를 주면 해당 크기의 JPEG 썸네일을 준다.")
+    @RequestMapping(path = "/api/images/profile/{first}/{second}/{filename}",
+            method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(
+            @PathVariable String first,
+            @PathVariable String second,
+            @PathVariable String filename,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String key = first + "/" + second + "/" + filename;
+        if (!ContentAddressedStorage.isKey(key)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String extension = filename.substring(filename.lastIndexOf('.') + 1);
+        String hash = filename.substring(0, filename.lastIndexOf('.'));
+        Path path = storage.resolve(key);
+        String etag = "\"" + hash + "\"";
+        String contentType = CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+        String cacheControl = CACHE_CONTROL;
+
+        // 썸네일이 아직 만들어지지 않았으면 원본을 주되, 잠시 뒤 다시 받도록 짧게만 캐시한다.
+        if (size != null) {
+            Path derivative = storage.resolveDerivative(key, size);
+            if (Files.exists(derivative)) {
+                path = derivative;
+                etag = "\"" + hash + "-" + size + "\"";
+                contentType = "image/jpeg";
+            } else {
+                cacheControl = PENDING_DERIVATIVE_CACHE_CONTROL;
+            }
+        }
+
+        long length;
+        try {
+            length = Files.size(path);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // sendfile 은 응답이 끝난 뒤 Tomcat 이 보내므로 여기서는 시간을 잴 수 없다. 크기만 기록한다.
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            imageIoMetrics.recordBytes(ImageIoMetrics.Operation.SERVE, count);
+            return;
+        }
+
+        long started = System.nanoTime();
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            imageIoMetrics.record(ImageIoMetrics.Operation.SERVE, count - remaining, System.nanoTime() - started);
+        }
+    }
+
+    // If-None-Match 는 쉼표로 구분된 목록이거나 * 이다. 약한 비교(W/ 무시)를 한다.
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 단일 범위만 지원한다. 여러 범위나 해석할 수 없는 헤더(끝이 시작보다 앞선 범위 포함)는 빈 배열(전체 전송),
+    // 만족할 수 없는 범위는 null.
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            long start = Long.parseLong(from);
+            long last = to.isEmpty() ? Long.MAX_VALUE : Long.parseLong(to);
+            if (last < start) {
+                return new long[0]; // RFC 9110 14.1.1: 올바르지 않은 범위는 무시한다.
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[]{start, Math.min(last, length - 1)};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
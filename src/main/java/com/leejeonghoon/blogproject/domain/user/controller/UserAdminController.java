@@ -0,0 +1,72 @@
+package com.leejeonghoon.blogproject.domain.user.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserImportSummary;
+import com.leejeonghoon.blogproject.domain.user.service.UserBulkFormat;
+import com.leejeonghoon.blogproject.domain.user.service.UserBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// 관리자용 사용자 일괄 가입/내보내기. /api/admin/** 은 ROLE_ADMIN 만 접근할 수 있다(SecurityConfig).
+@Tag(name = "[Admin] 사용자 일괄 처리")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class UserAdminController {
+
+    private final UserBulkService userBulkService;
+    private final ObjectMapper objectMapper;
+
+    // 요청 본문(NDJSON 또는 CSV)을 읽는 대로 처리하고, 실패한 줄과 마지막 요약을 NDJSON 으로 돌려준다.
+    @Operation(summary = "사용자 일괄 가입", security = { @SecurityRequirement(name = "BearerAuth")})
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserBulkFormat format = UserBulkFormat.fromMediaType(request.getContentType());
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+
+        UserImportSummary summary = userBulkService.importUsers(request.getInputStream(), format, error -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(error));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.write(objectMapper.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    // 전체 사용자를 id 순서로 내보낸다(format=ndjson|csv).
+    @Operation(summary = "사용자 내보내기", security = { @SecurityRequirement(name = "BearerAuth")})
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserBulkFormat bulkFormat = UserBulkFormat.fromName(format);
+        StreamingResponseBody body = output -> userBulkService.exportUsers(bulkFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(bulkFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + bulkFormat.name().toLowerCase() + "\"")
+                .body(body);
+    }
+}
@@ -2,9 +2,15 @@ package com.leejeonghoon.blogproject.domain.user.controller;
 
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserLoginRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserRegisterRequestDto;
+import com.leejeonghoon.blogproject.domain.user.dto.request.UserTokenRefreshRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserUpdateRequestDto;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryPage;
 import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
 import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.service.NicknameSearchService;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService;
+import com.leejeonghoon.blogproject.domain.user.service.UserDirectoryService;
 import com.leejeonghoon.blogproject.domain.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,13 +18,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Tag(name = "[User] 사용자 관련 시스템")
@@ -29,6 +40,9 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final NicknameSearchService nicknameSearchService;
+    private final UserDirectoryService userDirectoryService;
     private final JwtTokenProvider jwtTokenProvider;
 
     // 회원가입
@@ -52,6 +66,63 @@ public class UserController {
         return ResponseEntity.ok(userResponseDto);
     }
 
+    // 아이디/이메일/닉네임 사용 가능 여부 (넘긴 항목만 확인)
+    @Operation(summary = "아이디/이메일/닉네임 중복 확인")
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Boolean>> availability(
+            @RequestParam(required = false) String loginId,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String nickname
+    ) {
+        Map<String, Boolean> response = new LinkedHashMap<>();
+        if (loginId != null) {
+            response.put("loginId", userAvailabilityService.isAvailable(UserAvailabilityService.Field.LOGIN_ID, loginId));
+        }
+        if (email != null) {
+            response.put("email", userAvailabilityService.isAvailable(UserAvailabilityService.Field.EMAIL, email));
+        }
+        if (nickname != null) {
+            response.put("nickname",
+                    userAvailabilityService.isAvailable(UserAvailabilityService.Field.NICKNAME, nickname));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // 닉네임 접두사 자동완성
+    @Operation(summary = "닉네임 자동완성", security = { @SecurityRequirement(name = "BearerAuth")})
+    @GetMapping("/search")
+    public ResponseEntity<List<String>> searchNicknames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(nicknameSearchService.search(prefix, limit));
+    }
+
+    // 사용자 목록(가입 최신순). 응답의 nextCursor 를 cursor 로 넘겨 다음 페이지를 읽는다.
+    @Operation(summary = "사용자 목록", security = { @SecurityRequirement(name = "BearerAuth")})
+    @GetMapping("/directory")
+    public ResponseEntity<UserDirectoryPage> directory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String nickname,
+            @RequestParam(required = false) Role role
+    ) {
+        return ResponseEntity.ok(userDirectoryService.list(cursor, size, nickname, role));
+    }
+
+    // 조건에 맞는 사용자 전체를 NDJSON 으로 내려준다.
+    @Operation(summary = "사용자 목록 스트리밍", security = { @SecurityRequirement(name = "BearerAuth")})
+    @GetMapping(path = "/directory/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDirectory(
+            @RequestParam(required = false) String nickname,
+            @RequestParam(required = false) Role role
+    ) {
+        StreamingResponseBody body = output -> userDirectoryService.stream(nickname, role, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                .body(body);
+    }
+
     // 로그인
     @Operation(summary = "로그인")
     @PostMapping("/login")
@@ -69,6 +140,13 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    // 액세스 토큰 재발급
+    @Operation(summary = "토큰 재발급")
+    @PostMapping("/token/refresh")
+    public ResponseEntity<Map<String, String>> refreshToken(@RequestBody UserTokenRefreshRequestDto requestDto) {
+        return ResponseEntity.ok(userService.refreshToken(requestDto.getRefreshToken()));
+    }
+
     // 회원 정보 수정
     @Operation(summary = "회원 정보 수정", security = { @SecurityRequirement(name = "BearerAuth")})
     @PatchMapping(value = "/update", consumes = "multipart/form-data")
@@ -114,7 +192,7 @@ public class UserController {
             @AuthenticationPrincipal UserDetails userDetails
     ) {
         String loginId = userDetails.getUsername();
-        return ResponseEntity.ok(userService.getUserInfoByLoginId(loginId));
+        return conditional(userService.getUserInfoByLoginId(loginId));
     }
 
 
@@ -122,7 +200,19 @@ public class UserController {
     @Operation(summary = "다른 회원 정보 보기")
     @GetMapping("/other_info/{nickname}")
     public ResponseEntity<UserResponseDto> getUserInfo(@PathVariable String nickname) {
-        return ResponseEntity.ok(userService.getUserInfoByNickname(nickname));
+        return conditional(userService.getUserInfoByNickname(nickname));
+    }
+
+    // 프로필 버전으로 ETag 를 붙인다. If-None-Match 가 같으면 스프링이 본문을 직렬화하지 않고 304 로 답한다.
+    // 프로필은 캐시(UserProfileCache)에서 오므로 적중 시 DB 도 거치지 않는다.
+    private ResponseEntity<UserResponseDto> conditional(UserResponseDto profile) {
+        if (profile.getVersionTag() == null) {
+            return ResponseEntity.ok(profile);
+        }
+        return ResponseEntity.ok()
+                .eTag(profile.getVersionTag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile);
     }
 
 
@@ -155,4 +245,13 @@ public class UserController {
         }
     }
 
+
+    // 모든 기기에서 로그아웃
+    @Operation(summary = "모든 기기에서 로그아웃", security = { @SecurityRequirement(name = "BearerAuth")})
+    @PostMapping("/logout_all")
+    public ResponseEntity<String> logoutAll(@AuthenticationPrincipal UserDetails userDetails) {
+        userService.logoutAll(userDetails.getUsername());
+        return ResponseEntity.ok("모든 기기에서 로그아웃 하였습니다.");
+    }
+
 }
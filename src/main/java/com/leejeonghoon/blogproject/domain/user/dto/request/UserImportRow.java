@@ -0,0 +1,22 @@
+package com.leejeonghoon.blogproject.domain.user.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일괄 가입 한 줄. password(원문) 또는 passwordHash(다른 시스템에서 옮겨 오는 {bcrypt}/$2a$ 해시) 중 하나가 필요하다.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRow {
+    private String loginId;
+    private String password;
+    private String passwordHash;
+    private String email;
+    private String nickname;
+    private String role;
+}
@@ -0,0 +1,15 @@
+package com.leejeonghoon.blogproject.domain.user.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 리프레시 토큰은 URL(접근 로그, 프록시, 브라우저 기록)에 남지 않도록 본문으로 받는다.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserTokenRefreshRequestDto {
+    private String refreshToken;
+}
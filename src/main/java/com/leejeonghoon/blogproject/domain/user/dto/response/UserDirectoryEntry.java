@@ -0,0 +1,21 @@
+package com.leejeonghoon.blogproject.domain.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 사용자 목록 한 줄. 다른 사용자에게 보이는 값만 담는다(아이디/이메일 제외).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectoryEntry {
+    private Long userId;
+    private String nickname;
+    private String profileImg;
+    private String role;
+    private LocalDateTime createDate;
+}
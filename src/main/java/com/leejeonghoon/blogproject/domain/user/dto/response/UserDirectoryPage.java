@@ -0,0 +1,18 @@
+package com.leejeonghoon.blogproject.domain.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 사용자 목록 한 페이지. nextCursor 를 다음 요청의 cursor 로 넘기고, 마지막 페이지면 null 이다.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectoryPage {
+    private List<UserDirectoryEntry> users;
+    private String nextCursor;
+}
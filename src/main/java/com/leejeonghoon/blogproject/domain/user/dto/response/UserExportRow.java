@@ -0,0 +1,23 @@
+package com.leejeonghoon.blogproject.domain.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 일괄 내보내기 한 줄. 비밀번호 해시는 내보내지 않는다.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserExportRow {
+    private Long id;
+    private String loginId;
+    private String nickname;
+    private String email;
+    private String profileImg;
+    private String role;
+    private LocalDateTime createDate;
+}
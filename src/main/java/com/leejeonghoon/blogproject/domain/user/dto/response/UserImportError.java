@@ -0,0 +1,17 @@
+package com.leejeonghoon.blogproject.domain.user.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일괄 가입에서 실패한 줄. line 은 입력의 줄 번호(CSV 는 헤더가 1번 줄)다.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportError {
+    private long line;
+    private String loginId;
+    private String error;
+}
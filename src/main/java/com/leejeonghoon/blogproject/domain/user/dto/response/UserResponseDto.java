@@ -1,5 +1,6 @@
 package com.leejeonghoon.blogproject.domain.user.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,4 +16,8 @@ public class UserResponseDto {
     private String nickname;
     private String email;
     private String profileImg;
+
+    // "<id>.<version>". 응답 본문에는 넣지 않고 ETag 로만 내보낸다.
+    @JsonIgnore
+    private String versionTag;
 }
@@ -0,0 +1,5 @@
+package com.leejeonghoon.blogproject.domain.user.entity;
+
+public enum DerivativeJobStatus {
+    PENDING, DONE, FAILED
+}
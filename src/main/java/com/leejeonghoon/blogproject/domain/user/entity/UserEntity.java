@@ -1,5 +1,6 @@
 package com.leejeonghoon.blogproject.domain.user.entity;
 
+import com.leejeonghoon.blogproject.common.id.Tsid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,29 +16,44 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UserEntity.UK_LOGIN_ID, columnNames = "login_id"),
+        @UniqueConstraint(name = UserEntity.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = UserEntity.UK_NICKNAME, columnNames = "nickname")
+}, indexes = {
+        // 사용자 목록 키셋 페이지(UserDirectoryService)
+        @Index(name = "idx_users_create_date_id", columnList = "create_date, id"),
+        @Index(name = "idx_users_role_create_date_id", columnList = "role, create_date, id")
+})
 public class UserEntity {
 
+    // 가입/수정 시 중복을 미리 조회하지 않고 이 제약 위반으로 판단한다(UserService).
+    public static final String UK_LOGIN_ID = "uk_users_login_id";
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_NICKNAME = "uk_users_nickname";
+
+    // 시간순 id 를 애플리케이션에서 발급한다(INSERT 배치 가능).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String loginId;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String nickname;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "profile_image")
     private String profileImg;
 
     @CreationTimestamp
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createDate;
 
     @UpdateTimestamp
@@ -46,5 +62,14 @@ public class UserEntity {
     @Enumerated(EnumType.STRING) // Enum 타입 저장
     private Role role;
 
+    // 세션 버전. 올리면 이전에 발급된 모든 토큰이 무효가 된다.
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
+    // 행 버전. 수정될 때마다 올라가며 프로필 ETag 의 원천이 된다. 동시에 수정하면 나중 쪽이 실패한다.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
 
 }
@@ -0,0 +1,45 @@
+package com.leejeonghoon.blogproject.domain.user.event;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 사용자 정보(프로필, 비밀번호, 세션 버전)가 바뀌었거나 사용자가 삭제되었음을 알린다.
+// 리스너가 DB 를 다시 읽지 않도록 현재 이메일/닉네임과 이번 변경으로 더 이상 쓰지 않는 닉네임(previousNicknames)을 함께 싣는다.
+// deleted 면 email, nickname 은 삭제된 사용자의 마지막 값이다. remote 는 다른 노드에서 전달된 이벤트인지 여부다.
+public record UserChangedEvent(Long userId, String loginId, String email, String nickname,
+                               Set<String> previousNicknames, boolean deleted, boolean remote) {
+
+    public UserChangedEvent {
+        // 이전 형식의 메시지(다른 버전 노드)를 역직렬화하면 비어 있을 수 있다.
+        previousNicknames = previousNicknames == null ? Set.of() : previousNicknames;
+    }
+
+    public static UserChangedEvent changed(Long userId, String loginId, String email, String nickname,
+                                           String... previousNicknames) {
+        Set<String> previous = Arrays.stream(previousNicknames)
+                .filter(Objects::nonNull)
+                .filter(previousNickname -> !previousNickname.equals(nickname))
+                .collect(Collectors.toUnmodifiableSet());
+        return new UserChangedEvent(userId, loginId, email, nickname, previous, false, false);
+    }
+
+    public static UserChangedEvent deleted(Long userId, String loginId, String email, String nickname) {
+        return new UserChangedEvent(userId, loginId, email, nickname, Set.of(), true, false);
+    }
+
+    // 변경 전후를 가리지 않고 비워야 하는 캐시 키용
+    public Set<String> nicknames() {
+        Set<String> nicknames = new HashSet<>(previousNicknames);
+        if (nickname != null) {
+            nicknames.add(nickname);
+        }
+        return nicknames;
+    }
+
+    public UserChangedEvent asRemote() {
+        return new UserChangedEvent(userId, loginId, email, nickname, previousNicknames, deleted, true);
+    }
+}
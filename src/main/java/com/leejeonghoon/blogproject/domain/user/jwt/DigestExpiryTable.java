@@ -0,0 +1,139 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+// 다이제스트(128bit) -> 만료 시각을 저장하는 선형 탐사 해시 테이블.
+// 슬롯 하나를 [high, low, expiresAt] 3개의 long으로 하나의 배열에 나란히 저장하며, expiresAt == 0 이면 빈 슬롯이다.
+// 쓰기는 호출자가 잠금으로 보호해야 하고, 읽기는 낙관적 읽기 중 배열이 바뀌어도 예외 없이 끝나도록 작성했다.
+class DigestExpiryTable {
+
+    private static final int SLOT_WIDTH = 3;
+
+    private volatile long[] slots;
+    private int size;
+
+    DigestExpiryTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1) << 1);
+        this.slots = new long[capacity * SLOT_WIDTH];
+    }
+
+    // 없으면 0
+    long expiresAt(long high, long low) {
+        long[] table = slots;
+        int capacity = table.length / SLOT_WIDTH;
+        int mask = capacity - 1;
+        int index = indexFor(high, mask);
+        for (int probe = 0; probe < capacity; probe++) {
+            int base = index * SLOT_WIDTH;
+            long expiresAt = table[base + 2];
+            if (expiresAt == 0) {
+                return 0;
+            }
+            if (table[base] == high && table[base + 1] == low) {
+                return expiresAt;
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    // 새로 추가되었거나 만료된 항목을 되살렸으면 true. 살아있는 항목이 있으면 만료 시각만 늘린다.
+    boolean put(long high, long low, long expiresAt, long now) {
+        if ((size + 1) * 2L > capacity()) {
+            resize(capacity() * 2);
+        }
+
+        long[] table = slots;
+        int mask = capacity() - 1;
+        int index = indexFor(high, mask);
+        while (true) {
+            int base = index * SLOT_WIDTH;
+            long existing = table[base + 2];
+            if (existing == 0) {
+                table[base] = high;
+                table[base + 1] = low;
+                table[base + 2] = expiresAt;
+                size++;
+                return true;
+            }
+            if (table[base] == high && table[base + 1] == low) {
+                table[base + 2] = Math.max(existing, expiresAt);
+                return existing <= now;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    // 만료 시각이 now 이하인 경우에만 삭제한다. 삭제 후에는 뒤따르는 클러스터를 당겨 탐사 체인을 유지한다.
+    boolean removeIfExpired(long high, long low, long now) {
+        long[] table = slots;
+        int mask = capacity() - 1;
+        int index = indexFor(high, mask);
+        while (true) {
+            int base = index * SLOT_WIDTH;
+            long expiresAt = table[base + 2];
+            if (expiresAt == 0) {
+                return false;
+            }
+            if (table[base] == high && table[base + 1] == low) {
+                if (expiresAt > now) {
+                    return false;
+                }
+                shiftBackward(table, index, mask);
+                size--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length / SLOT_WIDTH;
+    }
+
+    private void shiftBackward(long[] table, int hole, int mask) {
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            int base = index * SLOT_WIDTH;
+            if (table[base + 2] == 0) {
+                break;
+            }
+            int home = indexFor(table[base], mask);
+            // home이 (hole, index] 구간 밖이면 hole로 옮겨도 탐사 경로가 유지된다.
+            boolean between = hole <= index ? (hole < home && home <= index) : (hole < home || home <= index);
+            if (!between) {
+                System.arraycopy(table, base, table, hole * SLOT_WIDTH, SLOT_WIDTH);
+                hole = index;
+            }
+        }
+        int holeBase = hole * SLOT_WIDTH;
+        table[holeBase] = 0;
+        table[holeBase + 1] = 0;
+        table[holeBase + 2] = 0;
+    }
+
+    private void resize(int newCapacity) {
+        long[] old = slots;
+        long[] table = new long[newCapacity * SLOT_WIDTH];
+        int mask = newCapacity - 1;
+        for (int base = 0; base < old.length; base += SLOT_WIDTH) {
+            if (old[base + 2] == 0) {
+                continue;
+            }
+            int index = indexFor(old[base], mask);
+            while (table[index * SLOT_WIDTH + 2] != 0) {
+                index = (index + 1) & mask;
+            }
+            System.arraycopy(old, base, table, index * SLOT_WIDTH, SLOT_WIDTH);
+        }
+        slots = table;
+    }
+
+    // 다이제스트는 이미 고르게 분포된 값이므로 상위 비트를 그대로 인덱스로 쓴다.
+    private static int indexFor(long high, int mask) {
+        return (int) (high ^ (high >>> 32)) & mask;
+    }
+}
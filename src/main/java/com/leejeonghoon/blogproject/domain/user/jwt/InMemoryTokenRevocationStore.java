@@ -0,0 +1,84 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.StampedLock;
+
+// Redis 없이 동작하는 단일 노드/테스트용 폐기 저장소.
+// 항목 하나는 해시 테이블 슬롯 24바이트(적재율 0.5 이하이므로 실사용 48~96바이트) + 타이밍 휠 24바이트를 차지한다.
+@Component
+@ConditionalOnProperty(name = "app.state-store", havingValue = "memory")
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final StampedLock lock = new StampedLock();
+    private final DigestExpiryTable table;
+    private final RevocationTimingWheel timingWheel;
+
+    public InMemoryTokenRevocationStore(
+            @Value("${jwt.revocation.memory.initial-capacity:1024}") int initialCapacity,
+            @Value("${jwt.revocation.memory.tick-millis:1000}") long tickMillis
+    ) {
+        this.table = new DigestExpiryTable(initialCapacity);
+        this.timingWheel = new RevocationTimingWheel(tickMillis, System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean revoke(TokenDigest digest, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return false; // 이미 만료된 토큰은 기록할 필요가 없다.
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            long previous = table.expiresAt(digest.getHigh(), digest.getLow());
+            if (previous >= expiresAtMillis) {
+                return false;
+            }
+            boolean revoked = table.put(digest.getHigh(), digest.getLow(), expiresAtMillis, now);
+            timingWheel.schedule(digest.getHigh(), digest.getLow(), expiresAtMillis);
+            return revoked;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(TokenDigest digest) {
+        long stamp = lock.tryOptimisticRead();
+        long expiresAt = table.expiresAt(digest.getHigh(), digest.getLow());
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                expiresAt = table.expiresAt(digest.getHigh(), digest.getLow());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return expiresAt > System.currentTimeMillis();
+    }
+
+    // 타이밍 휠을 현재 시각까지 돌려 만료된 다이제스트를 테이블에서 제거한다.
+    @Scheduled(fixedDelayString = "${jwt.revocation.memory.tick-millis:1000}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        long stamp = lock.writeLock();
+        try {
+            timingWheel.advance(now, (high, low, expiresAt) -> table.removeIfExpired(high, low, now));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return table.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package com.leejeonghoon.blogproject.domain.user.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+// 단계별 소요 시간을 auth.filter{phase=resolve|verify|session|authentication} 으로 기록한다.
+// 타이머는 생성 시 등록해 두고 nanoTime 차이만 넘기므로 요청마다 할당이 없다.
 @Slf4j
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final SessionVersionCache sessionVersionCache;
+    private final Timer resolveTimer;
+    private final Timer verifyTimer;
+    private final Timer sessionTimer;
+    private final Timer authenticationTimer;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, SessionVersionCache sessionVersionCache,
+                                   MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.sessionVersionCache = sessionVersionCache;
+        this.resolveTimer = phaseTimer(meterRegistry, "resolve");
+        this.verifyTimer = phaseTimer(meterRegistry, "verify");
+        this.sessionTimer = phaseTimer(meterRegistry, "session");
+        this.authenticationTimer = phaseTimer(meterRegistry, "authentication");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,26 +47,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        long started = System.nanoTime();
         String token = jwtTokenProvider.resolveToken(request);
+        started = record(resolveTimer, started);
 
-        log.info("요청 URL: {}", requestURI);
-        log.info("추출한 JWT 토큰: {}", token);
+        log.debug("요청 URL: {}", requestURI);
 
         if (token != null) {
-            token = token.replace("Bearer ", "").trim();
+            // 서명 검증은 여기서 한 번만 수행하고, 이후에는 검증된 클레임을 그대로 사용한다.
+            // 액세스 토큰은 수명이 짧아 폐기 저장소(Redis)를 조회하지 않는다. 로그아웃은 리프레시 토큰 계열 폐기로 처리된다.
+            Claims claims = jwtTokenProvider.parseClaims(token);
+            started = record(verifyTimer, started);
 
-            if (jwtTokenProvider.validateToken(token)) {
-                Boolean isBlacklisted = redisTemplate.hasKey(token);
-                if (Boolean.TRUE.equals(isBlacklisted)) {
-                    log.warn("로그아웃된 토큰으로 요청이 들어왔습니다.");
+            if (claims != null && !jwtTokenProvider.isRefreshToken(claims)) {
+                // 폐기 여부 확인. 로그아웃/비밀번호 변경은 세션 버전을 올려 이전 토큰을 모두 무효로 만든다.
+                boolean current = sessionVersionCache.isCurrent(jwtTokenProvider.getUserId(claims), jwtTokenProvider.getTokenVersion(claims));
+                started = record(sessionTimer, started);
+                if (!current) {
+                    log.warn("세션 버전이 만료된 토큰으로 요청이 들어왔습니다.");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("로그아웃된 토큰입니다.");
+                    response.getWriter().write("만료된 세션입니다. 다시 로그인해주세요.");
                     return;
                 }
 
-                Authentication authentication = jwtTokenProvider.getAuthentication(token);
+                Authentication authentication = jwtTokenProvider.getAuthentication(claims);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.info("SecurityContextHolder에 인증 정보 저장됨: {}", authentication.getName());
+                record(authenticationTimer, started);
+                log.debug("SecurityContextHolder에 인증 정보 저장됨: {}", authentication.getName());
             } else {
                 log.warn("유효하지 않은 JWT 토큰 (URL: {})", requestURI);
             }
@@ -57,4 +82,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 단계 시작 시각부터 지금까지를 기록하고, 지금을 다음 단계의 시작 시각으로 돌려준다.
+    private static long record(Timer timer, long started) {
+        long now = System.nanoTime();
+        timer.record(now - started, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("auth.filter")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,77 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 서명 검증이 끝난 클레임을 토큰 다이제스트 기준으로 보관하는 캐시. 항목은 토큰의 exp 시각에 만료된다.
+@Component
+public class JwtClaimsCache {
+
+    private final ConcurrentHashMap<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+    private final int maxSize;
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Claims get(TokenDigest digest) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    public void put(TokenDigest digest, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || maxSize <= 0) {
+            return; // 만료 시각이 없는 토큰은 캐시하지 않는다.
+        }
+        if (entries.size() >= maxSize) {
+            sweep();
+        }
+        entries.put(digest, new Entry(claims, expiration.getTime()));
+    }
+
+    public void invalidate(TokenDigest digest) {
+        entries.remove(digest);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 만료된 항목을 먼저 비우고, 그래도 가득 차 있으면 임의의 1/8을 비운다. 동시에 한 스레드만 수행한다.
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+            int excess = entries.size() - (maxSize - maxSize / 8);
+            Iterator<TokenDigest> iterator = entries.keySet().iterator();
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
@@ -2,9 +2,10 @@ package com.leejeonghoon.blogproject.domain.user.jwt;
 
 import com.leejeonghoon.blogproject.domain.user.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,61 +15,102 @@ import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    public static final String VERSION_CLAIM = "ver";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String REFRESH_TYPE = "refresh";
+
     private final JwtUtil jwtUtil;
+    private final JwtClaimsCache claimsCache;
+    private final JwtParser jwtParser;
+
+    public JwtTokenProvider(JwtUtil jwtUtil, JwtClaimsCache claimsCache) {
+        this.jwtUtil = jwtUtil;
+        this.claimsCache = claimsCache;
+        // JwtParser는 불변 객체라 스레드 간에 공유할 수 있으므로 한 번만 생성해서 재사용한다.
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtUtil.getKey()).build();
+    }
 
-    // 토큰에 유저id, 로그인id, 이메일, 닉네임, 권한 저장.
-    public String createToken(Long userId, String loginId, String email, String nickname, Role role) {
+    // 액세스 토큰에 유저id, 로그인id, 이메일, 닉네임, 권한, 세션 버전, 리프레시 토큰 계열 저장.
+    // 수명이 짧으므로(jwt.expiration) 요청마다 저장소를 조회하지 않고 서명과 만료만으로 검증한다.
+    public String createToken(Long userId, String loginId, String email, String nickname, Role role,
+                              long tokenVersion, String familyId) {
         return Jwts.builder()
                 .setSubject(userId.toString())
                 .claim("loginId", loginId)
                 .claim("email", email)
                 .claim("nickname", nickname)
                 .claim("role", role.name())
+                .claim(VERSION_CLAIM, tokenVersion)
+                .claim(FAMILY_CLAIM, familyId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtUtil.getExpTime()))
                 .signWith(jwtUtil.getKey())
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    // 리프레시 토큰. 같은 로그인에서 이어진 토큰은 같은 계열(fam)을 가지며, 한 번 사용하면 새 토큰으로 교체된다.
+    public String createRefreshToken(Long userId, long tokenVersion, String familyId) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setId(UUID.randomUUID().toString())
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(VERSION_CLAIM, tokenVersion)
+                .claim(FAMILY_CLAIM, familyId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + jwtUtil.getRefreshExpTime()))
+                .signWith(jwtUtil.getKey())
+                .compact();
+    }
+
+    // 토큰을 한 번만 파싱/검증하고 결과 클레임을 만료 시각까지 캐시한다. 유효하지 않은 토큰이면 null 반환.
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        return parseClaims(token, TokenDigest.of(token));
+    }
+
+    public Claims parseClaims(String token, TokenDigest digest) {
+        Claims cached = claimsCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parserBuilder().setSigningKey(jwtUtil.getKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            claimsCache.put(digest, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
     public String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
-        System.out.println("[DEBUG] Authorization 헤더 값: " + bearerToken);
-
         if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
             return null;
         }
 
-        String token = bearerToken.substring(7).trim();
-        System.out.println("[DEBUG] 추출된 토큰: " + token);
-
-        return token;
+        return bearerToken.substring(7).trim();
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtUtil.getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getAuthentication(requireClaims(token));
+    }
 
+    public Authentication getAuthentication(Claims claims) {
         String loginId = claims.get("loginId", String.class);
-        String email = claims.get("email", String.class);
-        String nickname = claims.get("nickname", String.class);
         String role = claims.get("role", String.class);
 
         List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
@@ -77,11 +119,39 @@ public class JwtTokenProvider {
         return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
     }
 
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
+    public String getFamilyId(Claims claims) {
+        return claims.get(FAMILY_CLAIM, String.class);
+    }
+
+    public Long getUserId(Claims claims) {
+        return Long.valueOf(claims.getSubject());
+    }
+
+    // ver 클레임이 없는 토큰은 버전 0으로 취급한다.
+    public long getTokenVersion(Claims claims) {
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        return version == null ? 0 : version.longValue();
+    }
+
+    public long getRefreshTokenLifetime() {
+        return jwtUtil.getRefreshExpTime();
+    }
+
     public long getExpiration(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(jwtUtil.getKey()) // 🔹 getKey() 메서드 사용
-                .build().parseClaimsJws(token).getBody();
-        Date expirationDate = claims.getExpiration();
+        Date expirationDate = requireClaims(token).getExpiration();
         return expirationDate.getTime() - System.currentTimeMillis();
     }
 
+    private Claims requireClaims(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
+        }
+        return claims;
+    }
+
 }
@@ -19,14 +19,18 @@ public class JwtUtil {
     private final Key key;
     @Getter
     private final long expTime;
+    @Getter
+    private final long refreshExpTime;
 
     public JwtUtil(
             @Value("${jwt.secret}") String secretKey,
-            @Value("${jwt.expiration}") long expTime
+            @Value("${jwt.expiration}") long expTime,
+            @Value("${jwt.refresh-expiration}") long refreshExpTime
     ) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.expTime = expTime;
+        this.refreshExpTime = refreshExpTime;
     }
 
     public String createAccessToken(Long userId, String email, String role) {
@@ -0,0 +1,164 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import com.leejeonghoon.blogproject.common.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Redis 기반 폐기 저장소. Redis가 원본이고, 각 노드는 블룸 필터 사본으로 "확실히 폐기되지 않음"을 로컬에서 판정한다.
+// 사본은 Redis pub/sub으로 동기화되며, 블룸 필터가 "있을 수도 있음"이라고 답할 때만 Redis를 조회한다.
+// 사본에는 로그아웃으로 폐기된 토큰 계열만 넣는다. 리프레시마다 생기는 사용 기록(markUsed)은 별도 키에 두어
+// 필터가 리프레시 횟수만큼 차오르지 않게 한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.state-store", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenRevocationStore implements TokenRevocationStore, MessageListener {
+
+    public static final String CHANNEL = "jwt:blacklist";
+
+    private static final String KEY_PREFIX = "jwt:revoked:";
+    private static final String USED_KEY_PREFIX = "jwt:used:";
+    private static final String REVOKED_VALUE = "1";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long generationMillis;
+
+    // 폐기 항목(리프레시 토큰, 토큰 계열)의 TTL은 최대 generationMillis 이므로 현재/이전 두 세대만 유지하면 유효한 항목을 잃지 않는다.
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long generationStartedAt;
+
+    private final LongAdder localNegatives = new LongAdder();
+    private final LongAdder redisLookups = new LongAdder();
+
+    public RedisTokenRevocationStore(
+            RedisTemplate<String, String> redisTemplate,
+            JwtUtil jwtUtil,
+            @Value("${jwt.blacklist.expected-insertions:100000}") long expectedInsertions,
+            @Value("${jwt.blacklist.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generationMillis = Math.max(jwtUtil.getExpTime(), jwtUtil.getRefreshExpTime());
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.generationStartedAt = System.currentTimeMillis();
+    }
+
+    // Redis에 기록하고 다른 노드에 다이제스트를 전파한다.
+    @Override
+    public boolean revoke(TokenDigest digest, long expiresAtMillis) {
+        long ttl = expiresAtMillis - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return false;
+        }
+
+        Boolean created = redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + digest.toHex(), REVOKED_VALUE, ttl, TimeUnit.MILLISECONDS);
+        add(digest);
+        redisTemplate.convertAndSend(CHANNEL, digest.toHex());
+        return Boolean.TRUE.equals(created);
+    }
+
+    // Redis 의 SET NX 만으로 판정한다. 다른 노드가 알 필요가 없으므로 사본에 넣거나 전파하지 않는다.
+    @Override
+    public boolean markUsed(TokenDigest digest, long expiresAtMillis) {
+        long ttl = expiresAtMillis - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(USED_KEY_PREFIX + digest.toHex(), REVOKED_VALUE, ttl, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public boolean isRevoked(TokenDigest digest) {
+        if (!mightContain(digest)) {
+            localNegatives.increment();
+            return false;
+        }
+
+        redisLookups.increment();
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + digest.toHex()));
+    }
+
+    // 다른 노드에서 발생한 폐기 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String hex = new String(message.getBody(), StandardCharsets.US_ASCII);
+        try {
+            add(TokenDigest.fromHex(hex));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 블랙리스트 메시지를 무시합니다: {}", hex);
+        }
+    }
+
+    // 기동 시, 그리고 pub/sub 유실에 대비해 주기적으로 Redis의 폐기 목록을 다시 읽어 사본을 채운다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.blacklist.resync-interval:600000}",
+            fixedDelayString = "${jwt.blacklist.resync-interval:600000}")
+    public void resync() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        long count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                add(TokenDigest.fromHex(cursor.next().substring(KEY_PREFIX.length())));
+                count++;
+            }
+        } catch (Exception e) {
+            log.warn("블랙리스트 동기화에 실패했습니다: {}", e.getMessage());
+            return;
+        }
+        log.info("블랙리스트 동기화 완료: {}건", count);
+    }
+
+    public long getLocalNegatives() {
+        return localNegatives.sum();
+    }
+
+    public long getRedisLookups() {
+        return redisLookups.sum();
+    }
+
+    private void add(TokenDigest digest) {
+        rotateIfNeeded();
+        current.put(digest.getHigh(), digest.getLow());
+    }
+
+    private boolean mightContain(TokenDigest digest) {
+        rotateIfNeeded();
+        return current.mightContain(digest.getHigh(), digest.getLow())
+                || previous.mightContain(digest.getHigh(), digest.getLow());
+    }
+
+    private void rotateIfNeeded() {
+        if (System.currentTimeMillis() - generationStartedAt < generationMillis) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - generationStartedAt < generationMillis) {
+                return;
+            }
+            previous = current;
+            current = new BloomFilter(expectedInsertions, falsePositiveRate);
+            generationStartedAt = now;
+        }
+    }
+}
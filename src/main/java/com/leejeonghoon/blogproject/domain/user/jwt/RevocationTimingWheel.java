@@ -0,0 +1,118 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import java.util.Arrays;
+
+// 폐기 항목의 만료를 처리하는 계층형 타이밍 휠. 레벨마다 64칸이며, 위 레벨의 칸은 아래 레벨 한 바퀴를 덮는다.
+// (tick 1초 기준 레벨0: 64초, 레벨1: 약 68분, 레벨2: 약 72시간, 레벨3: 약 194일)
+// 각 칸은 [high, low, expiresAt] 를 이어 붙인 long 배열이다. 호출자가 잠금으로 보호해야 한다.
+class RevocationTimingWheel {
+
+    interface ExpiryHandler {
+        void expire(long high, long low, long expiresAt);
+    }
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int ENTRY_WIDTH = 3;
+
+    private final long tickMillis;
+    private final long[][][] buckets = new long[LEVELS][SLOTS][];
+    private final int[][] lengths = new int[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    RevocationTimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(long high, long low, long expiresAt) {
+        long expireTick = Math.max(currentTick + 1, (expiresAt + tickMillis - 1) / tickMillis);
+        place(high, low, expiresAt, expireTick);
+        size++;
+    }
+
+    // now 까지의 tick을 하나씩 진행하면서 만료된 항목을 handler로 넘긴다.
+    void advance(long nowMillis, ExpiryHandler handler) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & SLOT_MASK);
+            long[] entries = buckets[0][slot];
+            int length = lengths[0][slot];
+            if (length == 0) {
+                continue;
+            }
+            buckets[0][slot] = null;
+            lengths[0][slot] = 0;
+
+            for (int i = 0; i < length; i += ENTRY_WIDTH) {
+                long expiresAt = entries[i + 2];
+                long expireTick = (expiresAt + tickMillis - 1) / tickMillis;
+                if (expireTick <= currentTick) {
+                    size--;
+                    handler.expire(entries[i], entries[i + 1], expiresAt);
+                } else {
+                    place(entries[i], entries[i + 1], expiresAt, expireTick);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 아래 레벨이 한 바퀴를 돌 때마다 위 레벨의 현재 칸을 풀어서 다시 배치한다.
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> shift) & SLOT_MASK);
+            long[] entries = buckets[level][slot];
+            int length = lengths[level][slot];
+            buckets[level][slot] = null;
+            lengths[level][slot] = 0;
+            for (int i = 0; i < length; i += ENTRY_WIDTH) {
+                long expiresAt = entries[i + 2];
+                place(entries[i], entries[i + 1], expiresAt, Math.max(currentTick, (expiresAt + tickMillis - 1) / tickMillis));
+            }
+        }
+    }
+
+    private void place(long high, long low, long expiresAt, long expireTick) {
+        long delta = expireTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        // 최상위 레벨 범위를 넘는 항목은 한 바퀴 뒤에 다시 배치된다.
+        long levelTick = Math.min(expireTick, currentTick + (1L << (SLOT_BITS * LEVELS)) - 1);
+        int slot = (int) ((levelTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (level == 0 && delta <= 0) {
+            slot = (int) (currentTick & SLOT_MASK);
+        }
+        append(level, slot, high, low, expiresAt);
+    }
+
+    private void append(int level, int slot, long high, long low, long expiresAt) {
+        long[] entries = buckets[level][slot];
+        int length = lengths[level][slot];
+        if (entries == null) {
+            entries = new long[ENTRY_WIDTH * 4];
+        } else if (length + ENTRY_WIDTH > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[length] = high;
+        entries[length + 1] = low;
+        entries[length + 2] = expiresAt;
+        buckets[level][slot] = entries;
+        lengths[level][slot] = length + ENTRY_WIDTH;
+    }
+}
@@ -0,0 +1,80 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 세션 버전(users.token_version) 캐시. 토큰의 ver 클레임이 현재 버전보다 작으면 폐기된 토큰이다.
+// 버전을 올린 노드는 즉시 반영하고, 다른 노드는 사용자 변경 이벤트를 받아 항목을 비운다.
+// 이벤트가 유실되어도 최대 cache-ttl 이내에 DB에서 다시 읽어 반영된다.
+@Component
+public class SessionVersionCache {
+
+    private static final long MISSING_USER = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Entry> versions = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public SessionVersionCache(
+            UserRepository userRepository,
+            @Value("${jwt.session-version.cache-ttl:30000}") long ttlMillis,
+            @Value("${jwt.session-version.max-size:100000}") int maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    // 탈퇴 등으로 사용자가 없으면 모든 토큰이 무효가 되도록 Long.MAX_VALUE를 반환한다.
+    public long currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = versions.get(userId);
+        if (entry != null && entry.loadedAt + ttlMillis > now) {
+            return entry.version;
+        }
+
+        long version = userRepository.findTokenVersionById(userId).orElse(MISSING_USER);
+        put(userId, version, now);
+        return version;
+    }
+
+    // 세션 버전을 올린 직후 호출한다.
+    public void update(Long userId, long version) {
+        put(userId, version, System.currentTimeMillis());
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    // 다른 노드에서 세션 버전이 바뀌었거나 사용자가 삭제되었을 수 있다.
+    @EventListener(condition = "#event.remote()")
+    public void onRemoteUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            evict(event.userId());
+        }
+    }
+
+    private void put(Long userId, long version, long now) {
+        if (versions.size() >= maxSize) {
+            versions.values().removeIf(entry -> entry.loadedAt + ttlMillis <= now);
+            if (versions.size() >= maxSize) {
+                versions.clear();
+            }
+        }
+        versions.put(userId, new Entry(version, now));
+    }
+
+    private record Entry(long version, long loadedAt) {
+    }
+}
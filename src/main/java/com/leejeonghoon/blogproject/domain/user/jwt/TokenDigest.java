@@ -0,0 +1,55 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// 토큰 원문 대신 키로 사용하는 고정 크기(128bit) 다이제스트. SHA-256 결과의 앞 16바이트만 사용한다.
+@Getter
+@EqualsAndHashCode
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    public TokenDigest(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static TokenDigest of(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return new TokenDigest(toLong(hash, 0), toLong(hash, 8));
+    }
+
+    public static TokenDigest fromHex(String hex) {
+        if (hex == null || hex.length() != 32) {
+            throw new IllegalArgumentException("다이제스트 길이가 올바르지 않습니다.");
+        }
+        return new TokenDigest(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    public String toHex() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.leejeonghoon.blogproject.domain.user.jwt;
+
+// 폐기된 토큰 저장소. 이미 사용된 리프레시 토큰과 로그아웃으로 폐기된 토큰 계열을 기록한다.
+// 토큰 원문 대신 고정 크기 다이제스트만 보관한다.
+// app.state-store 값에 따라 Redis(redis) 또는 프로세스 내부 메모리(memory) 구현이 사용된다.
+public interface TokenRevocationStore {
+
+    // expiresAtMillis(epoch ms)까지 폐기 상태로 기록한다. 이미 폐기된 상태였다면 false.
+    boolean revoke(TokenDigest digest, long expiresAtMillis);
+
+    boolean isRevoked(TokenDigest digest);
+
+    // 리프레시 토큰을 사용한 것으로 기록한다. 이미 사용된 토큰이면 false.
+    // 사용 여부는 이 호출로만 확인하고 isRevoked 로 묻지 않으므로, 구현은 조회용 사본에 넣지 않아도 된다.
+    default boolean markUsed(TokenDigest digest, long expiresAtMillis) {
+        return revoke(digest, expiresAtMillis);
+    }
+}
@@ -0,0 +1,51 @@
+package com.leejeonghoon.blogproject.domain.user.repository;
+
+import com.leejeonghoon.blogproject.domain.user.entity.DerivativeJobStatus;
+import com.leejeonghoon.blogproject.domain.user.entity.ImageDerivativeJobEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageDerivativeJobRepository extends JpaRepository<ImageDerivativeJobEntity, Long> {
+
+    Optional<ImageDerivativeJobEntity> findByStorageKey(String storageKey);
+
+    List<ImageDerivativeJobEntity> findByStatusAndIdGreaterThanOrderByIdAsc(DerivativeJobStatus status, Long id, Pageable pageable);
+
+    // 같은 이미지의 작업이 이미 있으면 아무것도 하지 않는다.
+    @Modifying
+    @Query(value = "insert into image_derivative_job (storage_key, status, attempts, create_date, update_date) " +
+            "values (:storageKey, 'PENDING', 0, current_timestamp, current_timestamp) " +
+            "on duplicate key update storage_key = storage_key", nativeQuery = true)
+    int enqueue(@Param("storageKey") String storageKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update image_derivative_job set status = 'DONE', last_error = null, update_date = current_timestamp " +
+            "where storage_key = :storageKey", nativeQuery = true)
+    int markDone(@Param("storageKey") String storageKey);
+
+    // 실패 횟수가 maxAttempts 에 이르면 FAILED 로 두고 더 이상 시도하지 않는다.
+    @Transactional
+    @Modifying
+    @Query(value = "update image_derivative_job set " +
+            "status = case when attempts + 1 >= :maxAttempts then 'FAILED' else 'PENDING' end, " +
+            "attempts = attempts + 1, last_error = :error, update_date = current_timestamp " +
+            "where storage_key = :storageKey", nativeQuery = true)
+    int markFailed(@Param("storageKey") String storageKey,
+                   @Param("error") String error,
+                   @Param("maxAttempts") int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ImageDerivativeJobEntity j where j.storageKey = :storageKey")
+    int deleteByStorageKey(@Param("storageKey") String storageKey);
+}
@@ -0,0 +1,9 @@
+package com.leejeonghoon.blogproject.domain.user.repository;
+
+// users.nickname 만 읽는 프로젝션
+public interface NicknameReference {
+
+    Long getId();
+
+    String getNickname();
+}
@@ -0,0 +1,9 @@
+package com.leejeonghoon.blogproject.domain.user.repository;
+
+// users.profile_image 만 읽는 프로젝션
+public interface ProfileImageReference {
+
+    Long getId();
+
+    String getProfileImg();
+}
@@ -0,0 +1,36 @@
+package com.leejeonghoon.blogproject.domain.user.repository;
+
+import com.leejeonghoon.blogproject.domain.user.entity.ProfileImageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ProfileImageRepository extends JpaRepository<ProfileImageEntity, Long> {
+
+    Optional<ProfileImageEntity> findByStorageKey(String storageKey);
+
+    // 처음 저장된 파일이면 행을 만들고, 이미 있으면 참조 수만 올린다. 동시에 같은 파일이 올라와도 한 행만 생긴다.
+    @Modifying
+    @Query(value = "insert into profile_image (storage_key, content_hash, size_bytes, ref_count, create_date) " +
+            "values (:storageKey, :contentHash, :sizeBytes, 1, current_timestamp) " +
+            "on duplicate key update ref_count = ref_count + 1", nativeQuery = true)
+    int acquire(@Param("storageKey") String storageKey,
+                @Param("contentHash") String contentHash,
+                @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("update ProfileImageEntity p set p.refCount = p.refCount - 1 " +
+            "where p.storageKey = :storageKey and p.refCount > 0")
+    int release(@Param("storageKey") String storageKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProfileImageEntity p where p.storageKey = :storageKey")
+    int deleteByStorageKey(@Param("storageKey") String storageKey);
+}
@@ -0,0 +1,17 @@
+package com.leejeonghoon.blogproject.domain.user.repository;
+
+// 프로필 조회에 필요한 컬럼만 읽는 프로젝션. 비밀번호 해시 등은 읽지 않는다.
+public interface UserProfileView {
+
+    Long getId();
+
+    long getVersion();
+
+    String getLoginId();
+
+    String getNickname();
+
+    String getEmail();
+
+    String getProfileImg();
+}
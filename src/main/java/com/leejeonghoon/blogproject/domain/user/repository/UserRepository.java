@@ -1,9 +1,14 @@
 package com.leejeonghoon.blogproject.domain.user.repository;
 
 import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +18,23 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByPassword(String password);
     Optional<UserEntity> findByNickname(String nickName);
+
+    // 프로필 조회 전용. 필요한 컬럼만 select 하고 엔티티를 만들지 않는다.
+    @Transactional(readOnly = true)
+    Optional<UserProfileView> findProfileByLoginId(String loginId);
+
+    @Transactional(readOnly = true)
+    Optional<UserProfileView> findProfileByNickname(String nickname);
+
+    @Query("select u.tokenVersion from UserEntity u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    // id 기준 키셋 페이지. 프로필 이미지 정리 작업이 전체 사용자를 나눠 읽을 때 사용한다.
+    @Query("select u.id as id, u.profileImg as profileImg from UserEntity u " +
+            "where u.id > :lastId and u.profileImg is not null order by u.id")
+    List<ProfileImageReference> findProfileImagesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // id 기준 키셋 페이지. 닉네임 자동완성 색인을 만들 때 사용한다.
+    @Query("select u.id as id, u.nickname as nickname from UserEntity u where u.id > :lastId order by u.id")
+    List<NicknameReference> findNicknamesAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
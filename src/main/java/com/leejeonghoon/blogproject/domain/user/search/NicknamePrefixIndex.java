@@ -0,0 +1,255 @@
+package com.leejeonghoon.blogproject.domain.user.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+// 닉네임 접두사 검색 색인. 문자열 객체 대신 UTF-8 바이트를 하나의 배열에 정렬해 이어 붙여 메모리를 줄인다.
+// - base: 정렬된 packed 배열(불변). 접두사의 시작 위치를 이진 탐색으로 찾고 순서대로 읽는다.
+// - delta: 마지막 압축 이후 추가된 닉네임(정렬된 skip list).
+// - tombstones: base 에서 삭제된 위치의 비트맵.
+// 읽기는 잠금 없이 현재 snapshot 을 읽고, 쓰기와 압축은 한 번에 하나씩 수행한다.
+// delta 와 tombstone 이 임계치를 넘으면 base 로 합쳐 다시 만든다.
+// 정렬은 UTF-8 바이트 순서(= 유니코드 코드 포인트 순서)이고 결과도 이 순서로 돌려준다.
+public class NicknamePrefixIndex {
+
+    private static final Comparator<byte[]> ORDER = Arrays::compareUnsigned;
+
+    private final int compactionThreshold;
+    private volatile Snapshot snapshot;
+
+    public NicknamePrefixIndex(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+        this.snapshot = new Snapshot(Packed.build(new ArrayList<>()));
+    }
+
+    // 전체를 다시 만든다. source 가 닉네임을 모두 넘길 때까지 추가/삭제는 기다린다.
+    public synchronized void load(Consumer<Consumer<String>> source) {
+        List<byte[]> entries = new ArrayList<>();
+        source.accept(nickname -> {
+            if (nickname != null) {
+                entries.add(nickname.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        snapshot = new Snapshot(Packed.build(entries));
+    }
+
+    public synchronized void add(String nickname) {
+        byte[] key = nickname.getBytes(StandardCharsets.UTF_8);
+        Snapshot current = snapshot;
+        int index = current.base.find(key);
+        if (index >= 0) {
+            current.restore(index);
+        } else {
+            current.delta.add(key);
+        }
+        compactIfNeeded(current);
+    }
+
+    public synchronized void remove(String nickname) {
+        byte[] key = nickname.getBytes(StandardCharsets.UTF_8);
+        Snapshot current = snapshot;
+        if (!current.delta.remove(key)) {
+            int index = current.base.find(key);
+            if (index >= 0) {
+                current.delete(index);
+            }
+        }
+        compactIfNeeded(current);
+    }
+
+    // prefix 로 시작하는 닉네임을 순서대로 최대 limit 개
+    public List<String> search(String prefix, int limit) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        Snapshot current = snapshot;
+        Packed base = current.base;
+
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        int index = base.lowerBound(key);
+        Iterator<byte[]> delta = current.delta.tailSet(key).iterator();
+        byte[] nextDelta = nextMatching(delta, key);
+
+        while (result.size() < limit) {
+            while (index < base.size() && current.isDeleted(index)) {
+                index++;
+            }
+            boolean baseMatches = index < base.size() && base.startsWith(index, key);
+            if (!baseMatches && nextDelta == null) {
+                break;
+            }
+            if (nextDelta == null || (baseMatches && base.compareTo(index, nextDelta) < 0)) {
+                result.add(base.get(index++));
+            } else {
+                result.add(new String(nextDelta, StandardCharsets.UTF_8));
+                nextDelta = nextMatching(delta, key);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current.base.size() - current.deletedCount.get() + current.delta.size();
+    }
+
+    // 대략적인 사용 메모리(byte). delta 항목은 skip list 노드와 배열 헤더를 항목당 64byte 로 잡는다.
+    public long memoryBytes() {
+        Snapshot current = snapshot;
+        long deltaBytes = 0;
+        for (byte[] entry : current.delta) {
+            deltaBytes += 64 + entry.length;
+        }
+        return current.base.memoryBytes() + current.tombstones.length() * 8L + deltaBytes;
+    }
+
+    private void compactIfNeeded(Snapshot current) {
+        int pending = current.delta.size() + current.deletedCount.get();
+        if (pending < Math.max(compactionThreshold, current.base.size() / 8)) {
+            return;
+        }
+        List<byte[]> entries = new ArrayList<>(current.base.size() + current.delta.size());
+        for (int i = 0; i < current.base.size(); i++) {
+            if (!current.isDeleted(i)) {
+                entries.add(current.base.bytes(i));
+            }
+        }
+        entries.addAll(current.delta);
+        snapshot = new Snapshot(Packed.build(entries));
+    }
+
+    private static byte[] nextMatching(Iterator<byte[]> iterator, byte[] prefix) {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        byte[] next = iterator.next();
+        return startsWith(next, prefix) ? next : null;
+    }
+
+    private static boolean startsWith(byte[] value, byte[] prefix) {
+        return value.length >= prefix.length && Arrays.equals(value, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static final class Snapshot {
+
+        private final Packed base;
+        private final ConcurrentSkipListSet<byte[]> delta = new ConcurrentSkipListSet<>(ORDER);
+        private final AtomicLongArray tombstones;
+        private final AtomicInteger deletedCount = new AtomicInteger();
+
+        private Snapshot(Packed base) {
+            this.base = base;
+            this.tombstones = new AtomicLongArray(Math.max(1, (base.size() + 63) / 64));
+        }
+
+        private boolean isDeleted(int index) {
+            return (tombstones.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        private void delete(int index) {
+            long mask = 1L << index;
+            if ((tombstones.getAndAccumulate(index >>> 6, mask, (a, b) -> a | b) & mask) == 0) {
+                deletedCount.incrementAndGet();
+            }
+        }
+
+        private void restore(int index) {
+            long mask = 1L << index;
+            if ((tombstones.getAndAccumulate(index >>> 6, ~mask, (a, b) -> a & b) & mask) != 0) {
+                deletedCount.decrementAndGet();
+            }
+        }
+    }
+
+    // 정렬된 UTF-8 바이트열을 data 에 이어 붙이고, i 번째 항목은 data[offsets[i], offsets[i + 1]) 이다.
+    private static final class Packed {
+
+        private final byte[] data;
+        private final int[] offsets;
+
+        private Packed(byte[] data, int[] offsets) {
+            this.data = data;
+            this.offsets = offsets;
+        }
+
+        private static Packed build(List<byte[]> entries) {
+            entries.sort(ORDER);
+            int count = 0;
+            long length = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                if (i == 0 || ORDER.compare(entries.get(i - 1), entries.get(i)) != 0) {
+                    entries.set(count++, entries.get(i));
+                    length += entries.get(i).length;
+                }
+            }
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("닉네임 색인이 너무 큽니다.");
+            }
+
+            byte[] data = new byte[(int) length];
+            int[] offsets = new int[count + 1];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                byte[] entry = entries.get(i);
+                offsets[i] = position;
+                System.arraycopy(entry, 0, data, position, entry.length);
+                position += entry.length;
+            }
+            offsets[count] = position;
+            return new Packed(data, offsets);
+        }
+
+        private int size() {
+            return offsets.length - 1;
+        }
+
+        private String get(int index) {
+            return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+
+        private byte[] bytes(int index) {
+            return Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+        }
+
+        private int compareTo(int index, byte[] key) {
+            return Arrays.compareUnsigned(data, offsets[index], offsets[index + 1], key, 0, key.length);
+        }
+
+        private boolean startsWith(int index, byte[] prefix) {
+            int start = offsets[index];
+            return offsets[index + 1] - start >= prefix.length
+                    && Arrays.equals(data, start, start + prefix.length, prefix, 0, prefix.length);
+        }
+
+        // key 이상인 첫 위치
+        private int lowerBound(byte[] key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareTo(mid, key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // 정확히 같은 항목의 위치, 없으면 -1
+        private int find(byte[] key) {
+            int index = lowerBound(key);
+            return index < size() && compareTo(index, key) == 0 ? index : -1;
+        }
+
+        private long memoryBytes() {
+            return 16L + data.length + 16L + offsets.length * 4L;
+        }
+    }
+}
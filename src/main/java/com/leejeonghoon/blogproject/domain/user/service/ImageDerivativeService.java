@@ -0,0 +1,138 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.leejeonghoon.blogproject.domain.user.entity.DerivativeJobStatus;
+import com.leejeonghoon.blogproject.domain.user.entity.ImageDerivativeJobEntity;
+import com.leejeonghoon.blogproject.domain.user.repository.ImageDerivativeJobRepository;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageDerivativeGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 업로드된 프로필 이미지의 썸네일을 백그라운드에서 만든다.
+// 작업은 DB(image_derivative_job)에 먼저 기록하고, 업로드 트랜잭션이 커밋된 뒤 작업 스레드에 넘긴다.
+// 작업 대기열이 가득 차거나 서버가 재시작되어 처리되지 못한 작업은 주기적으로 DB에서 다시 읽어 처리한다.
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int REQUEUE_BATCH_SIZE = 100;
+
+    private final ImageDerivativeJobRepository jobRepository;
+    private final ImageDerivativeGenerator generator;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(
+            ImageDerivativeJobRepository jobRepository,
+            ImageDerivativeGenerator generator,
+            @Value("${image.derivatives.threads:2}") int threads,
+            @Value("${image.derivatives.queue-capacity:100}") int queueCapacity
+    ) {
+        this.jobRepository = jobRepository;
+        this.generator = generator;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    // 업로드 트랜잭션 안에서 호출한다. 실제 처리는 커밋 이후에 시작된다.
+    public void enqueue(String imageKey) {
+        jobRepository.enqueue(imageKey);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(imageKey);
+                }
+            });
+        } else {
+            submit(imageKey);
+        }
+    }
+
+    // 대기열의 남은 자리만큼 PENDING 작업을 id 순서로 다시 넘긴다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${image.derivatives.poll-interval:30000}",
+            initialDelayString = "${image.derivatives.poll-interval:30000}")
+    public void requeuePending() {
+        long lastId = 0;
+        while (executor.getQueue().remainingCapacity() > 0) {
+            int limit = Math.min(REQUEUE_BATCH_SIZE, executor.getQueue().remainingCapacity());
+            List<ImageDerivativeJobEntity> jobs = jobRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    DerivativeJobStatus.PENDING, lastId, PageRequest.of(0, limit));
+            if (jobs.isEmpty()) {
+                return;
+            }
+            for (ImageDerivativeJobEntity job : jobs) {
+                submit(job.getStorageKey());
+                lastId = job.getId();
+            }
+        }
+    }
+
+    private void submit(String imageKey) {
+        if (!inFlight.add(imageKey)) {
+            return; // 이미 대기 중이거나 처리 중이다.
+        }
+        try {
+            executor.execute(() -> process(imageKey));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(imageKey);
+            log.debug("썸네일 작업 대기열이 가득 차 다음 주기에 처리합니다: {}", imageKey);
+        }
+    }
+
+    private void process(String imageKey) {
+        try {
+            boolean done = jobRepository.findByStorageKey(imageKey)
+                    .map(job -> job.getStatus() != DerivativeJobStatus.PENDING)
+                    .orElse(true);
+            if (done) {
+                return;
+            }
+
+            generator.generate(imageKey);
+            jobRepository.markDone(imageKey);
+        } catch (Exception e) {
+            log.warn("썸네일 생성 실패: key={}, error={}", imageKey, e.getMessage());
+            String error = String.valueOf(e.getMessage());
+            jobRepository.markFailed(imageKey, error.length() > 500 ? error.substring(0, 500) : error, MAX_ATTEMPTS);
+        } finally {
+            inFlight.remove(imageKey);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,100 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.repository.NicknameReference;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.search.NicknamePrefixIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// 닉네임 접두사 자동완성. users 를 DB 에서 LIKE 로 찾지 않고 메모리 색인에서 바로 답한다.
+// - 기동 시 UserRepository 에서 id 키셋으로 닉네임을 읽어 색인을 만든다.
+// - 가입/수정/탈퇴 이벤트(다른 노드 포함)에 실린 변경 전후 닉네임으로 색인을 고친다. DB 는 다시 읽지 않는다.
+//   닉네임은 유일하므로 이전 닉네임은 빼고 현재 닉네임은 더한다(탈퇴면 뺀다).
+//   노드 사이에서 이벤트 순서가 뒤바뀌어 생긴 어긋남은 다음 기동 때 색인을 다시 만들면서 바로잡힌다.
+@Slf4j
+@Service
+public class NicknameSearchService {
+
+    private final UserRepository userRepository;
+    private final NicknamePrefixIndex index;
+    private final int pageSize;
+    private final int maxLimit;
+
+    private volatile boolean ready;
+
+    public NicknameSearchService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user.nickname-search.compaction-threshold:10000}") int compactionThreshold,
+            @Value("${user.nickname-search.page-size:5000}") int pageSize,
+            @Value("${user.nickname-search.max-limit:20}") int maxLimit
+    ) {
+        this.userRepository = userRepository;
+        this.index = new NicknamePrefixIndex(compactionThreshold);
+        this.pageSize = pageSize;
+        this.maxLimit = maxLimit;
+        Gauge.builder("user.nickname.index.size", index, NicknamePrefixIndex::size)
+                .register(meterRegistry);
+        Gauge.builder("user.nickname.index.bytes", index, NicknamePrefixIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<String> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        return index.search(prefix, Math.min(limit, maxLimit));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.previousNicknames().forEach(index::remove);
+        if (event.nickname() == null) {
+            return;
+        }
+        if (event.deleted()) {
+            index.remove(event.nickname());
+        } else {
+            index.add(event.nickname());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        try {
+            index.load(sink -> {
+                long lastId = 0;
+                List<NicknameReference> page;
+                do {
+                    page = userRepository.findNicknamesAfter(lastId, PageRequest.of(0, pageSize));
+                    for (NicknameReference reference : page) {
+                        sink.accept(reference.getNickname());
+                        lastId = reference.getId();
+                    }
+                } while (page.size() == pageSize);
+            });
+            ready = true;
+            log.info("닉네임 검색 색인 생성 완료: {}개, {}byte ({}ms)",
+                    index.size(), index.memoryBytes(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // 실패하면 빈 색인에 이후 변경만 쌓인다. 다음 기동 때 다시 만든다.
+            log.warn("닉네임 검색 색인 생성에 실패했습니다: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,331 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.leejeonghoon.blogproject.common.util.BloomFilter;
+import com.leejeonghoon.blogproject.domain.user.repository.ImageDerivativeJobRepository;
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageReference;
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageRepository;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 어떤 사용자도 참조하지 않는 프로필 이미지 파일을 백그라운드에서 지운다.
+//
+// 1. users.profile_image 를 id 키셋으로 나눠 읽어 참조 중인 해시를 블룸 필터에 모은다.
+//    블룸 필터는 거짓 음성이 없으므로 참조 중인 파일을 지우는 일은 없고, 거짓 양성인 고아 파일은 다음 실행으로 넘어간다.
+// 2. 업로드 디렉토리를 샤드 단위로 하나씩 열어 보며, 참조되지 않고 유예 기간보다 오래된 파일을 지운다.
+//    업로드 중이거나 방금 중복 업로드로 재사용된 파일은 수정 시각이 최근이라 건너뛴다.
+//    업로드 디렉토리 바로 아래는 예전 업로드 형식(이미지 확장자의 원래 파일 이름)만 보고, 기본 이미지는 지우지 않는다.
+// 삭제는 초당 max-deletes-per-second 개로 제한해 서비스 중인 디스크 I/O 를 방해하지 않게 한다.
+@Slf4j
+@Service
+public class OrphanImageCollector {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final Pattern SHARD_NAME = Pattern.compile("[0-9a-f]{2}");
+    // <해시>.<확장자> 는 원본, <해시>.<크기>.jpg 는 썸네일
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})\\.(?:(\\d+)\\.jpg|[a-z0-9]{1,5})");
+    // 내용 기반 저장 이전에는 업로드한 파일 이름 그대로 저장했다.
+    private static final Pattern LEGACY_FILE_NAME = Pattern.compile(".+\\.(?i:jpe?g|png|gif|webp)");
+    private static final Set<String> DEFAULT_IMAGE_NAMES = Set.of(
+            Path.of(ProfileImageService.DEFAULT_PROFILE_IMAGE).getFileName().toString(),
+            ProfileImageService.BUNDLED_DEFAULT_PROFILE_IMAGE);
+
+    private final UserRepository userRepository;
+    private final ProfileImageRepository profileImageRepository;
+    private final ImageDerivativeJobRepository derivativeJobRepository;
+    private final ContentAddressedStorage storage;
+    private final long gracePeriodMillis;
+    private final long deleteIntervalNanos;
+    private final Counter reclaimedBytesCounter;
+    private final Counter deletedFilesCounter;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private long nextDeleteAt;
+
+    public OrphanImageCollector(
+            UserRepository userRepository,
+            ProfileImageRepository profileImageRepository,
+            ImageDerivativeJobRepository derivativeJobRepository,
+            ContentAddressedStorage storage,
+            MeterRegistry meterRegistry,
+            @Value("${image.gc.grace-period:86400000}") long gracePeriodMillis,
+            @Value("${image.gc.max-deletes-per-second:50}") double maxDeletesPerSecond
+    ) {
+        this.userRepository = userRepository;
+        this.profileImageRepository = profileImageRepository;
+        this.derivativeJobRepository = derivativeJobRepository;
+        this.storage = storage;
+        this.gracePeriodMillis = gracePeriodMillis;
+        this.deleteIntervalNanos = maxDeletesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond) : 0;
+        this.reclaimedBytesCounter = Counter.builder("profile.image.gc.reclaimed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.deletedFilesCounter = Counter.builder("profile.image.gc.deleted")
+                .baseUnit("files")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${image.gc.interval:3600000}", initialDelayString = "${image.gc.interval:3600000}")
+    public void scheduledCollect() {
+        try {
+            collect();
+        } catch (IOException e) {
+            log.warn("고아 이미지 정리 실패: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Result collect() throws IOException, InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            return new Result(0, 0, 0);
+        }
+        try {
+            long cutoff = System.currentTimeMillis() - gracePeriodMillis;
+            References references = markReferences();
+            Sweep sweep = new Sweep(references, cutoff);
+
+            sweep.rootFiles(storage.getRoot());
+            sweep.expiredFiles(storage.getRoot().resolve(ContentAddressedStorage.TEMP_DIR));
+            for (Path shard : subdirectories(storage.getRoot())) {
+                for (Path leaf : subdirectories(shard)) {
+                    sweep.leaf(leaf);
+                }
+            }
+
+            Result result = new Result(sweep.scanned, sweep.deleted, sweep.reclaimedBytes);
+            log.info("고아 이미지 정리: 검사 {}개, 삭제 {}개, {} bytes 회수",
+                    result.scannedFiles(), result.deletedFiles(), result.reclaimedBytes());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private References markReferences() {
+        References references = new References(userRepository.count());
+        long lastId = 0;
+        while (true) {
+            List<ProfileImageReference> batch = userRepository.findProfileImagesAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (ProfileImageReference reference : batch) {
+                references.add(reference.getProfileImg());
+                lastId = reference.getId();
+            }
+            if (batch.size() < BATCH_SIZE) {
+                return references;
+            }
+        }
+    }
+
+    private static List<Path> subdirectories(Path directory) throws IOException {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory,
+                entry -> SHARD_NAME.matcher(entry.getFileName().toString()).matches() && Files.isDirectory(entry))) {
+            entries.forEach(result::add);
+        } catch (NoSuchFileException e) {
+            return result;
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private void throttle() throws InterruptedException {
+        if (deleteIntervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextDeleteAt > now) {
+            TimeUnit.NANOSECONDS.sleep(nextDeleteAt - now);
+        }
+        nextDeleteAt = Math.max(now, nextDeleteAt) + deleteIntervalNanos;
+    }
+
+    public record Result(long scannedFiles, long deletedFiles, long reclaimedBytes) {
+    }
+
+    // 참조 중인 이미지. 저장소 키는 해시로 블룸 필터에, 예전 형식(업로드 디렉토리의 파일 경로)은 그대로 집합에 담는다.
+    private static class References {
+
+        private final BloomFilter hashes;
+        private final Set<Path> legacyPaths = new HashSet<>();
+
+        private References(long expectedUsers) {
+            this.hashes = new BloomFilter(Math.max(1_000, expectedUsers), 0.01);
+        }
+
+        private void add(String profileImg) {
+            if (ContentAddressedStorage.isKey(profileImg)) {
+                String hash = profileImg.substring(6, 70);
+                hashes.put(high(hash), low(hash));
+            } else {
+                legacyPaths.add(Path.of(profileImg).toAbsolutePath().normalize());
+            }
+        }
+
+        private boolean containsHash(String hash) {
+            return hashes.mightContain(high(hash), low(hash));
+        }
+
+        private boolean containsLegacy(Path path) {
+            return legacyPaths.contains(path.toAbsolutePath().normalize());
+        }
+
+        private static long high(String hash) {
+            return Long.parseUnsignedLong(hash.substring(0, 16), 16);
+        }
+
+        private static long low(String hash) {
+            return Long.parseUnsignedLong(hash.substring(16, 32), 16);
+        }
+    }
+
+    private class Sweep {
+
+        private final References references;
+        private final long cutoff;
+        private long scanned;
+        private long deleted;
+        private long reclaimedBytes;
+
+        private Sweep(References references, long cutoff) {
+            this.references = references;
+            this.cutoff = cutoff;
+        }
+
+        // 내용 기반 저장 이전에 업로드 디렉토리 바로 아래에 원래 파일 이름으로 저장된 이미지
+        private void rootFiles(Path root) throws IOException, InterruptedException {
+            for (Path file : regularFiles(root)) {
+                String name = file.getFileName().toString();
+                if (!LEGACY_FILE_NAME.matcher(name).matches() || DEFAULT_IMAGE_NAMES.contains(name)) {
+                    continue;
+                }
+                scanned++;
+                if (!references.containsLegacy(file)) {
+                    deleteIfExpired(file);
+                }
+            }
+        }
+
+        // 비정상 종료로 남은 임시 파일
+        private void expiredFiles(Path directory) throws IOException, InterruptedException {
+            for (Path file : regularFiles(directory)) {
+                scanned++;
+                deleteIfExpired(file);
+            }
+        }
+
+        // 디렉토리 하나의 파일을 해시별로 묶어, 원본이 참조되지 않으면 원본과 썸네일을 함께 지운다.
+        private void leaf(Path directory) throws IOException, InterruptedException {
+            Map<String, List<Path>> filesByHash = new LinkedHashMap<>();
+            Map<String, Path> originals = new LinkedHashMap<>();
+            for (Path file : regularFiles(directory)) {
+                scanned++;
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                String hash = matcher.group(1);
+                filesByHash.computeIfAbsent(hash, h -> new ArrayList<>()).add(file);
+                if (matcher.group(2) == null) {
+                    originals.put(hash, file);
+                }
+            }
+
+            for (Map.Entry<String, List<Path>> entry : filesByHash.entrySet()) {
+                String hash = entry.getKey();
+                if (references.containsHash(hash)) {
+                    continue;
+                }
+
+                Path original = originals.get(hash);
+                if (original == null) {
+                    for (Path derivative : entry.getValue()) {
+                        deleteIfExpired(derivative); // 원본이 없는 썸네일
+                    }
+                    continue;
+                }
+                if (lastModified(original) >= cutoff) {
+                    continue;
+                }
+
+                String key = storage.getRoot().relativize(original).toString().replace('\\', '/');
+                for (Path file : entry.getValue()) {
+                    if (!file.equals(original)) {
+                        delete(file);
+                    }
+                }
+                // 원본을 마지막에 지워, 중간에 실패해도 다음 실행에서 다시 찾을 수 있게 한다.
+                if (delete(original)) {
+                    profileImageRepository.deleteByStorageKey(key);
+                    derivativeJobRepository.deleteByStorageKey(key);
+                }
+            }
+        }
+
+        private void deleteIfExpired(Path file) throws IOException, InterruptedException {
+            if (lastModified(file) < cutoff) {
+                delete(file);
+            }
+        }
+
+        // 삭제 직전에 수정 시각을 다시 확인한다. 검사 이후 중복 업로드로 재사용되었을 수 있다.
+        private boolean delete(Path file) throws IOException, InterruptedException {
+            throttle();
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+            if (attributes.lastModifiedTime().toMillis() >= cutoff || !Files.deleteIfExists(file)) {
+                return false;
+            }
+            deleted++;
+            reclaimedBytes += attributes.size();
+            deletedFilesCounter.increment();
+            reclaimedBytesCounter.increment(attributes.size());
+            return true;
+        }
+
+        private long lastModified(Path file) throws IOException {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (NoSuchFileException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+
+        private List<Path> regularFiles(Path directory) throws IOException {
+            List<Path> result = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+                entries.forEach(result::add);
+            } catch (NoSuchFileException e) {
+                return result;
+            }
+            return result;
+        }
+    }
+}
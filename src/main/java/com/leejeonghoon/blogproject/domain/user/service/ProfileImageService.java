@@ -0,0 +1,94 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageRepository;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage.StoredBlob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 프로필 이미지를 내용 기준으로 저장하고 참조 수를 관리한다.
+// 참조 수가 0이 되어도 파일은 바로 지우지 않는다. 같은 내용이 동시에 다시 올라오는 경우와 경합하지 않도록
+// 일정 시간이 지난 뒤 별도로 정리한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ProfileImageService {
+
+    public static final String DEFAULT_PROFILE_IMAGE = "/images/default-profile.jpg";
+    // 업로드 디렉토리에 함께 배포되는 기본 아바타
+    public static final String BUNDLED_DEFAULT_PROFILE_IMAGE = "profile.png";
+    public static final String IMAGE_URL_PREFIX = "/api/images/profile/";
+
+    private static final Map<String, String> CONTENT_TYPE_EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp");
+
+    private final ContentAddressedStorage storage;
+    private final ProfileImageRepository profileImageRepository;
+    private final ImageDerivativeService imageDerivativeService;
+
+    // 저장 후 이미지 키(ab/cd/<해시>.<확장자>)를 반환한다. 이미지가 없으면 기본 이미지 경로를 반환한다.
+    public String store(MultipartFile profileImage) {
+        if (profileImage == null || profileImage.isEmpty()) {
+            return DEFAULT_PROFILE_IMAGE;
+        }
+
+        StoredBlob blob;
+        try (InputStream inputStream = profileImage.getInputStream()) {
+            blob = storage.store(inputStream, extensionOf(profileImage));
+        } catch (IOException e) {
+            throw new RuntimeException("프로필 이미지 저장 실패: " + e.getMessage());
+        }
+
+        profileImageRepository.acquire(blob.key(), blob.hash(), blob.size());
+        imageDerivativeService.enqueue(blob.key());
+        log.debug("프로필 이미지 저장: key={}, size={}, created={}", blob.key(), blob.size(), blob.created());
+        return blob.key();
+    }
+
+    // 사용자가 더 이상 이 이미지를 쓰지 않을 때 호출한다. 기본 이미지나 예전 형식의 경로는 무시한다.
+    public void release(String imageKey) {
+        if (!ContentAddressedStorage.isKey(imageKey)) {
+            return;
+        }
+        profileImageRepository.release(imageKey);
+    }
+
+    // 응답에 내보낼 주소. 저장소 키는 이미지 제공 URL로 바꾸고, 기본 이미지 경로는 그대로 둔다.
+    public String urlOf(String imageKey) {
+        return ContentAddressedStorage.isKey(imageKey) ? IMAGE_URL_PREFIX + imageKey : imageKey;
+    }
+
+    private static String extensionOf(MultipartFile file) {
+        String contentType = file.getContentType();
+        if (contentType != null) {
+            String extension = CONTENT_TYPE_EXTENSIONS.get(contentType.toLowerCase(Locale.ROOT));
+            if (extension != null) {
+                return extension;
+            }
+        }
+
+        String filename = file.getOriginalFilename();
+        if (filename != null && filename.lastIndexOf('.') >= 0) {
+            String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            if (ALLOWED_EXTENSIONS.contains(extension)) {
+                return extension.equals("jpeg") ? "jpg" : extension;
+            }
+        }
+        return "bin";
+    }
+}
@@ -0,0 +1,198 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.leejeonghoon.blogproject.common.metrics.JdbcQueryTimer;
+import com.leejeonghoon.blogproject.common.util.BloomFilter;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 가입 폼의 아이디/이메일/닉네임 사용 가능 여부 확인.
+// 세 컬럼마다 블룸 필터를 두고, 필터에 없으면 DB 를 거치지 않고 바로 사용 가능으로 답한다. 필터에 있을 때(실제 사용 중이거나
+// 오탐)만 DB 에서 확인한다.
+// - 기동 시 users 테이블을 id 키셋으로 읽어 채우고, 가입/수정 이벤트(다른 노드 포함)로 새 값을 더한다.
+// - 블룸 필터는 지울 수 없으므로 바뀌거나 삭제된 값은 DB 확인으로 넘어간다. 주기적으로 다시 만들어 이런 값을 비운다.
+// - MySQL 비교 규칙(대소문자 무시, 끝 공백 무시)보다 넓게 잡도록 소문자로 바꾸고 끝 공백을 뗀 값을 넣는다.
+@Slf4j
+@Service
+public class UserAvailabilityService {
+
+    public enum Field {
+        LOGIN_ID("login_id"),
+        EMAIL("email"),
+        NICKNAME("nickname");
+
+        private final String column;
+
+        Field(String column) {
+            this.column = column;
+        }
+    }
+
+    private static final String SELECT_PAGE =
+            "select id, login_id, email, nickname from users where id > ? order by id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int pageSize;
+    private final Counter filtered;
+    private final Counter databaseLookups;
+    private final JdbcQueryTimer lookupTimer;
+    private final JdbcQueryTimer rebuildPageTimer;
+
+    private volatile Filters current;
+    // 다시 만드는 중인 필터. 그동안의 변경은 양쪽에 넣는다.
+    private volatile Filters building;
+
+    public UserAvailabilityService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${user.availability.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${user.availability.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${user.availability.page-size:5000}") int pageSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pageSize = pageSize;
+        this.filtered = Counter.builder("user.availability.lookups")
+                .tag("path", "bloom")
+                .register(meterRegistry);
+        this.databaseLookups = Counter.builder("user.availability.lookups")
+                .tag("path", "database")
+                .register(meterRegistry);
+        this.lookupTimer = new JdbcQueryTimer(meterRegistry, UserAvailabilityService.class, "isAvailable");
+        this.rebuildPageTimer = new JdbcQueryTimer(meterRegistry, UserAvailabilityService.class, "rebuildPage");
+    }
+
+    // 사용 가능하면 true
+    public boolean isAvailable(Field field, String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        Filters filters = current;
+        if (filters != null && !filters.mightContain(field, value)) {
+            filtered.increment();
+            return true;
+        }
+        databaseLookups.increment();
+        List<Integer> found = lookupTimer.record(() -> jdbcTemplate.queryForList(
+                "select 1 from users where " + field.column + " = ? limit 1", Integer.class, value));
+        return found.isEmpty();
+    }
+
+    // 이 노드에서 직접 넣은 사용자(일괄 가입 등)
+    public void record(String loginId, String email, String nickname) {
+        add(current, loginId, email, nickname);
+        add(building, loginId, email, nickname);
+    }
+
+    // 가입/수정 커밋 이후, 또는 다른 노드의 변경. DB 를 다시 읽지 않고 이벤트에 실린 현재 값을 더한다.
+    // 탈퇴는 필터에서 지울 수 없으므로 다음 rebuild 까지 DB 확인으로 넘어간다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.deleted()) {
+            return;
+        }
+        record(event.loginId(), event.email(), event.nickname());
+    }
+
+    // 기동 시, 그리고 지워진 값을 비우고 늘어난 사용자 수에 맞추기 위해 주기적으로 다시 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user.availability.rebuild-interval:3600000}",
+            fixedDelayString = "${user.availability.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Long userCount = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        // 다시 만들기 전까지 늘어날 사용자를 감안해 두 배로 잡는다.
+        Filters next = new Filters(Math.max(expectedInsertions, 2 * (userCount != null ? userCount : 0)),
+                falsePositiveRate);
+        building = next;
+        try {
+            long lastId = 0;
+            long loaded = 0;
+            int rows;
+            do {
+                long[] last = {lastId};
+                long after = lastId;
+                rows = rebuildPageTimer.record(() -> jdbcTemplate.query(SELECT_PAGE, (rs, rowNum) -> {
+                    next.add(rs.getString("login_id"), rs.getString("email"), rs.getString("nickname"));
+                    last[0] = rs.getLong("id");
+                    return null;
+                }, after, pageSize)).size();
+                lastId = last[0];
+                loaded += rows;
+            } while (rows == pageSize);
+
+            current = next;
+            log.info("사용자 중복 확인 필터 생성 완료: {}명, {}bit ({}ms)",
+                    loaded, next.bitCount(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // 실패하면 이전 필터를 계속 쓴다(처음이면 모든 확인이 DB 로 간다).
+            log.warn("사용자 중복 확인 필터 생성에 실패했습니다: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    private static void add(Filters filters, String loginId, String email, String nickname) {
+        if (filters != null) {
+            filters.add(loginId, email, nickname);
+        }
+    }
+
+    private static final class Filters {
+
+        private final Map<Field, BloomFilter> filters = new EnumMap<>(Field.class);
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            for (Field field : Field.values()) {
+                filters.put(field, new BloomFilter(expectedInsertions, falsePositiveRate));
+            }
+        }
+
+        private void add(String loginId, String email, String nickname) {
+            put(Field.LOGIN_ID, loginId);
+            put(Field.EMAIL, email);
+            put(Field.NICKNAME, nickname);
+        }
+
+        private void put(Field field, String value) {
+            if (value != null) {
+                TokenDigest digest = digest(value);
+                filters.get(field).put(digest.getHigh(), digest.getLow());
+            }
+        }
+
+        private boolean mightContain(Field field, String value) {
+            TokenDigest digest = digest(value);
+            return filters.get(field).mightContain(digest.getHigh(), digest.getLow());
+        }
+
+        private long bitCount() {
+            return filters.values().stream().mapToLong(BloomFilter::getBitCount).sum();
+        }
+
+        private static TokenDigest digest(String value) {
+            return TokenDigest.of(value.toLowerCase(Locale.ROOT).stripTrailing());
+        }
+    }
+}
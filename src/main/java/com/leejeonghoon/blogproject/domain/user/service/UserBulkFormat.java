@@ -0,0 +1,39 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import org.springframework.http.MediaType;
+
+public enum UserBulkFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    UserBulkFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static UserBulkFormat fromMediaType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (UserBulkFormat format : values()) {
+                if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 형식입니다. application/x-ndjson 또는 text/csv 를 사용하세요.");
+    }
+
+    public static UserBulkFormat fromName(String name) {
+        for (UserBulkFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 형식입니다: " + name);
+    }
+}
@@ -0,0 +1,513 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import com.leejeonghoon.blogproject.common.metrics.JdbcQueryTimer;
+import com.leejeonghoon.blogproject.common.util.CsvRecordReader;
+import com.leejeonghoon.blogproject.domain.user.dto.request.UserImportRow;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserExportRow;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserImportError;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserImportSummary;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// 사용자 일괄 가입/내보내기. 입력과 출력 모두 스트림으로 처리해 행 수와 무관하게 메모리를 일정하게 쓴다.
+// 가입: batch-size 행씩 읽어 검증 -> 중복 확인(쿼리 한 번) -> 비밀번호 해시(전용 풀에서 병렬) -> JDBC 배치 INSERT.
+//       실패한 행은 줄 번호와 사유를 알리고 나머지는 계속 처리한다.
+// 내보내기: id 키셋 페이지로 읽어 바로 쓴다.
+@Slf4j
+@Service
+public class UserBulkService {
+
+    private static final String INSERT_USER = "insert into users (id, login_id, password, nickname, email, " +
+            "profile_image, create_date, update_date, role, token_version, version) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+
+    private static final String SELECT_EXPORT_PAGE = "select id, login_id, nickname, email, profile_image, role, " +
+            "create_date from users where id > ? order by id limit ?";
+
+    private static final String CSV_EXPORT_HEADER = "id,loginId,nickname,email,profileImg,role,createDate";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TsidFactory idFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int batchSize;
+    private final int exportPageSize;
+    private final JdbcQueryTimer exportPageTimer;
+    private final JdbcQueryTimer findExistingTimer;
+    private final JdbcQueryTimer insertBatchTimer;
+    private final JdbcQueryTimer insertRowTimer;
+
+    public UserBulkService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.id.node-id:-1}") int nodeId,
+            @Value("${app.id.allow-derived-node-id:false}") boolean allowDerivedNodeId,
+            @Value("${user.bulk.batch-size:500}") int batchSize,
+            @Value("${user.bulk.export-page-size:1000}") int exportPageSize,
+            @Value("${user.bulk.hashing-threads:0}") int hashingThreads
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.idFactory = TsidFactory.forNode(TsidFactory.resolveNodeId(nodeId, allowDerivedNodeId));
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.exportPageSize = exportPageSize;
+        this.exportPageTimer = new JdbcQueryTimer(meterRegistry, UserBulkService.class, "exportPage");
+        this.findExistingTimer = new JdbcQueryTimer(meterRegistry, UserBulkService.class, "findExisting");
+        this.insertBatchTimer = new JdbcQueryTimer(meterRegistry, UserBulkService.class, "insertBatch");
+        this.insertRowTimer = new JdbcQueryTimer(meterRegistry, UserBulkService.class, "insertRow");
+
+        // 로그인용 PasswordHashingService 풀과 나눠서, 일괄 가입이 로그인을 429 로 밀어내지 않게 한다.
+        // 기본은 코어의 절반. 대기열이 차면 호출 스레드가 직접 해시해 자연히 입력 속도를 늦춘다.
+        int poolSize = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    public UserImportSummary importUsers(InputStream input, UserBulkFormat format, Consumer<UserImportError> errors)
+            throws IOException {
+        long started = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource source = format == UserBulkFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+
+        long total = 0;
+        long imported = 0;
+        long failed = 0;
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        PendingRow pending;
+        while ((pending = source.next()) != null) {
+            total++;
+            String error = pending.error != null ? pending.error : validate(pending.row);
+            if (error != null) {
+                failed++;
+                errors.accept(new UserImportError(pending.line, loginIdOf(pending), error));
+                continue;
+            }
+            chunk.add(pending);
+            if (chunk.size() == batchSize) {
+                int inserted = flush(chunk, errors);
+                imported += inserted;
+                failed += chunk.size() - inserted;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            int inserted = flush(chunk, errors);
+            imported += inserted;
+            failed += chunk.size() - inserted;
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("사용자 일괄 가입 완료: 전체 {}, 성공 {}, 실패 {} ({}ms)", total, imported, failed, elapsed);
+        return new UserImportSummary(total, imported, failed, elapsed);
+    }
+
+    public void exportUsers(UserBulkFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == UserBulkFormat.CSV) {
+            writer.write(CSV_EXPORT_HEADER);
+            writer.write('\n');
+        }
+
+        long lastId = 0;
+        List<UserExportRow> page;
+        do {
+            long after = lastId;
+            page = exportPageTimer.record(() -> jdbcTemplate.query(SELECT_EXPORT_PAGE, (rs, rowNum) -> {
+                Timestamp createDate = rs.getTimestamp("create_date");
+                return UserExportRow.builder()
+                        .id(rs.getLong("id"))
+                        .loginId(rs.getString("login_id"))
+                        .nickname(rs.getString("nickname"))
+                        .email(rs.getString("email"))
+                        .profileImg(rs.getString("profile_image"))
+                        .role(rs.getString("role"))
+                        .createDate(createDate != null ? createDate.toLocalDateTime() : null)
+                        .build();
+            }, after, exportPageSize));
+
+            for (UserExportRow row : page) {
+                writer.write(format == UserBulkFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                writer.write('\n');
+                lastId = row.getId();
+            }
+            // 페이지마다 내보내서 클라이언트가 바로 받아 가게 한다.
+            writer.flush();
+        } while (page.size() == exportPageSize);
+    }
+
+    // 검증을 통과한 행들을 넣고, 넣은 행 수를 돌려준다.
+    private int flush(List<PendingRow> chunk, Consumer<UserImportError> errors) {
+        List<PendingRow> accepted = rejectDuplicates(chunk, errors);
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        List<PendingRow> hashed = hashPasswords(accepted, errors);
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingRow row : hashed) {
+            row.id = idFactory.generate();
+        }
+
+        try {
+            insertBatchTimer.run(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_USER, hashed, hashed.size(), (statement, row) ->
+                            bind(statement, row, now))));
+            hashed.forEach(this::publishCreated);
+            return hashed.size();
+        } catch (DataIntegrityViolationException e) {
+            // 확인한 뒤 다른 요청이 같은 값을 먼저 넣은 경우. 이 묶음만 한 줄씩 다시 넣어 실패한 줄을 가려낸다.
+            log.debug("일괄 INSERT 충돌, 한 줄씩 다시 시도합니다: {}", e.getMessage());
+            int inserted = 0;
+            for (PendingRow row : hashed) {
+                try {
+                    insertRowTimer.run(() -> jdbcTemplate.update(INSERT_USER, statement -> bind(statement, row, now)));
+                    publishCreated(row);
+                    inserted++;
+                } catch (DataIntegrityViolationException rowException) {
+                    errors.accept(new UserImportError(row.line, row.row.getLoginId(), "이미 존재하는 사용자입니다."));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    // 묶음이 커밋된 뒤에 발행하므로 리스너가 바로 실행된다. 가입과 같은 이벤트라 다른 노드의
+    // 가용성 필터, 닉네임 색인, 프로필 캐시에도 그대로 전달된다.
+    private void publishCreated(PendingRow pending) {
+        eventPublisher.publishEvent(UserChangedEvent.changed(
+                pending.id, pending.row.getLoginId(), pending.row.getEmail(), pending.row.getNickname()));
+    }
+
+    // 묶음 안에서의 중복과 이미 가입된 값과의 중복을 거른다. 기존 값 확인은 묶음마다 쿼리 한 번이다.
+    private List<PendingRow> rejectDuplicates(List<PendingRow> chunk, Consumer<UserImportError> errors) {
+        Set<String> loginIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> nicknames = new HashSet<>();
+        for (PendingRow pending : chunk) {
+            loginIds.add(pending.row.getLoginId());
+            emails.add(pending.row.getEmail());
+            nicknames.add(pending.row.getNickname());
+        }
+        Existing existing = findExisting(loginIds, emails, nicknames);
+
+        Set<String> seenLoginIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenNicknames = new HashSet<>();
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            UserImportRow row = pending.row;
+            String error = null;
+            if (existing.loginIds.contains(row.getLoginId()) || !seenLoginIds.add(row.getLoginId())) {
+                error = "이미 존재하는 아이디 입니다.";
+            } else if (existing.emails.contains(row.getEmail()) || !seenEmails.add(row.getEmail())) {
+                error = "이미 존재하는 Email 주소입니다.";
+            } else if (existing.nicknames.contains(row.getNickname()) || !seenNicknames.add(row.getNickname())) {
+                error = "이미 사용중인 닉네임입니다.";
+            }
+
+            if (error != null) {
+                errors.accept(new UserImportError(pending.line, row.getLoginId(), error));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        return accepted;
+    }
+
+    private Existing findExisting(Set<String> loginIds, Set<String> emails, Set<String> nicknames) {
+        List<Object> args = new ArrayList<>(loginIds.size() + emails.size() + nicknames.size());
+        args.addAll(loginIds);
+        args.addAll(emails);
+        args.addAll(nicknames);
+
+        Existing existing = new Existing();
+        String sql = "select login_id, email, nickname from users where login_id in (" +
+                placeholders(loginIds.size()) + ") or email in (" + placeholders(emails.size()) +
+                ") or nickname in (" + placeholders(nicknames.size()) + ")";
+        findExistingTimer.run(() -> jdbcTemplate.query(sql, rs -> {
+            existing.loginIds.add(rs.getString("login_id"));
+            existing.emails.add(rs.getString("email"));
+            existing.nicknames.add(rs.getString("nickname"));
+        }, args.toArray()));
+        return existing;
+    }
+
+    // 원문 비밀번호만 전용 풀에서 병렬로 해시한다. 이미 해시된 값은 그대로 쓴다.
+    private List<PendingRow> hashPasswords(List<PendingRow> rows, Consumer<UserImportError> errors) {
+        Map<PendingRow, Future<String>> futures = new HashMap<>();
+        for (PendingRow row : rows) {
+            if (row.row.getPasswordHash() == null) {
+                String rawPassword = row.row.getPassword();
+                futures.put(row, hashingExecutor.submit(() -> passwordEncoder.encode(rawPassword)));
+            } else {
+                row.encodedPassword = row.row.getPasswordHash();
+            }
+        }
+
+        List<PendingRow> hashed = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            Future<String> future = futures.get(row);
+            if (future != null) {
+                try {
+                    row.encodedPassword = future.get();
+                } catch (InterruptedException e) {
+                    futures.values().forEach(pending -> pending.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("비밀번호 처리 중 인터럽트가 발생했습니다.", e);
+                } catch (ExecutionException e) {
+                    errors.accept(new UserImportError(row.line, row.row.getLoginId(), "비밀번호 처리에 실패했습니다."));
+                    continue;
+                }
+            }
+            hashed.add(row);
+        }
+        return hashed;
+    }
+
+    private static String validate(UserImportRow row) {
+        if (isBlank(row.getLoginId())) {
+            return "로그인 ID 입력은 필수입니다.";
+        }
+        if (isBlank(row.getEmail())) {
+            return "이메일 입력은 필수입니다.";
+        }
+        if (isBlank(row.getNickname())) {
+            return "닉네임 입력은 필수입니다.";
+        }
+        if (isBlank(row.getPassword()) && isBlank(row.getPasswordHash())) {
+            return "비밀번호는 필수입니다.";
+        }
+        if (!isBlank(row.getPasswordHash()) && !isEncodedPassword(row.getPasswordHash())) {
+            return "지원하지 않는 비밀번호 해시 형식입니다.";
+        }
+        if (isBlank(row.getPasswordHash())) {
+            row.setPasswordHash(null);
+        }
+        if (!isBlank(row.getRole()) && parseRole(row.getRole()) == null) {
+            return "알 수 없는 권한입니다: " + row.getRole();
+        }
+        return null;
+    }
+
+    // {bcrypt}/{pbkdf2} 처럼 인코더 id 가 붙은 값, 또는 접두사 없는 BCrypt 해시
+    private static boolean isEncodedPassword(String value) {
+        return value.startsWith("{bcrypt}") || value.startsWith("{pbkdf2}")
+                || value.matches("\\$2[aby]?\\$\\d\\d\\$.{53}");
+    }
+
+    private static Role parseRole(String value) {
+        String name = value.trim().toUpperCase();
+        for (Role role : Role.values()) {
+            if (role.name().equals(name) || role.name().equals("ROLE_" + name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    private static void bind(PreparedStatement statement, PendingRow pending, LocalDateTime now) throws SQLException {
+        UserImportRow row = pending.row;
+        Role role = isBlank(row.getRole()) ? Role.ROLE_USER : parseRole(row.getRole());
+        statement.setLong(1, pending.id);
+        statement.setString(2, row.getLoginId());
+        statement.setString(3, pending.encodedPassword);
+        statement.setString(4, row.getNickname());
+        statement.setString(5, row.getEmail());
+        statement.setString(6, ProfileImageService.DEFAULT_PROFILE_IMAGE);
+        statement.setTimestamp(7, Timestamp.valueOf(now));
+        statement.setTimestamp(8, Timestamp.valueOf(now));
+        statement.setString(9, role.name());
+    }
+
+    private static String toCsv(UserExportRow row) {
+        return String.join(",",
+                String.valueOf(row.getId()),
+                CsvRecordReader.quote(row.getLoginId()),
+                CsvRecordReader.quote(row.getNickname()),
+                CsvRecordReader.quote(row.getEmail()),
+                CsvRecordReader.quote(row.getProfileImg()),
+                CsvRecordReader.quote(row.getRole()),
+                row.getCreateDate() != null ? row.getCreateDate().toString() : "");
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String loginIdOf(PendingRow pending) {
+        return pending.row != null ? pending.row.getLoginId() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private interface RowSource {
+        // 입력이 끝나면 null
+        PendingRow next() throws IOException;
+    }
+
+    private class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new PendingRow(line, objectMapper.readValue(text, UserImportRow.class), null);
+                } catch (JsonProcessingException e) {
+                    return new PendingRow(line, null, "JSON 형식이 올바르지 않습니다.");
+                }
+            }
+            return null;
+        }
+    }
+
+    // 첫 레코드는 헤더. 열 순서는 자유이고 이름으로 찾는다(loginId, password, passwordHash, email, nickname, role).
+    private static class CsvRowSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private Map<String, Integer> columns;
+
+        private CsvRowSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            if (columns == null) {
+                List<String> header = reader.read();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+
+            List<String> record;
+            while ((record = reader.read()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                UserImportRow row = UserImportRow.builder()
+                        .loginId(column(record, "loginId"))
+                        .password(column(record, "password"))
+                        .passwordHash(column(record, "passwordHash"))
+                        .email(column(record, "email"))
+                        .nickname(column(record, "nickname"))
+                        .role(column(record, "role"))
+                        .build();
+                return new PendingRow(reader.getRecordLine(), row, null);
+            }
+            return null;
+        }
+
+        private String column(List<String> record, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < record.size() ? record.get(index) : null;
+        }
+    }
+
+    private static class PendingRow {
+
+        private final long line;
+        private final UserImportRow row;
+        private final String error;
+        private long id;
+        private String encodedPassword;
+
+        private PendingRow(long line, UserImportRow row, String error) {
+            this.line = line;
+            this.row = row;
+            this.error = error;
+        }
+    }
+
+    private static class Existing {
+        private final Set<String> loginIds = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> nicknames = new HashSet<>();
+    }
+}
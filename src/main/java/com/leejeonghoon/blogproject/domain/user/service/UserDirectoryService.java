@@ -0,0 +1,168 @@
+package com.leejeonghoon.blogproject.domain.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leejeonghoon.blogproject.common.metrics.JdbcQueryTimer;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryEntry;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryPage;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// 사용자 목록(가입 최신순). OFFSET 대신 마지막으로 본 (create_date, id) 다음부터 읽는 키셋 페이지라서
+// 몇 번째 페이지든 인덱스(idx_users_create_date_id, 역할 필터는 idx_users_role_create_date_id)에서 limit 개만 읽는다.
+// - 커서는 마지막 행의 (create_date, id) 를 base64url 로 감싼 값이다. 같은 시각에 가입한 사용자는 id 로 구분한다.
+// - 닉네임은 접두사로 거른다.
+// - 스트리밍은 같은 키셋 페이지를 끝까지 이어 읽으며 쓰므로 전체 행 수와 무관하게 한 페이지 분량의 메모리만 쓴다.
+// 페이지마다 읽기 전용 트랜잭션으로 읽어 복제본으로 보낸다.
+@Service
+public class UserDirectoryService {
+
+    private static final String SELECT_PAGE = "select id, nickname, profile_image, role, create_date from users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProfileImageService profileImageService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+    private final int streamPageSize;
+    private final JdbcQueryTimer pageTimer;
+
+    public UserDirectoryService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ProfileImageService profileImageService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${user.directory.max-page-size:100}") int maxPageSize,
+            @Value("${user.directory.stream-page-size:1000}") int streamPageSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.profileImageService = profileImageService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.streamPageSize = streamPageSize;
+        this.pageTimer = new JdbcQueryTimer(meterRegistry, UserDirectoryService.class, "page");
+    }
+
+    public UserDirectoryPage list(String cursor, int size, String nickname, Role role) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다.");
+        }
+        int limit = Math.min(size, maxPageSize);
+        // 한 행 더 읽어 다음 페이지가 있는지 확인한다.
+        List<UserDirectoryEntry> rows = fetch(cursor != null ? Cursor.decode(cursor) : null, limit + 1, nickname, role);
+        if (rows.size() <= limit) {
+            return new UserDirectoryPage(rows, null);
+        }
+        List<UserDirectoryEntry> users = new ArrayList<>(rows.subList(0, limit));
+        return new UserDirectoryPage(users, cursorOf(users.get(limit - 1)));
+    }
+
+    // 조건에 맞는 사용자 전체를 NDJSON 으로 쓴다.
+    public void stream(String nickname, Role role, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Cursor after = null;
+        List<UserDirectoryEntry> page;
+        do {
+            page = fetch(after, streamPageSize, nickname, role);
+            for (UserDirectoryEntry entry : page) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.write('\n');
+            }
+            writer.flush();
+            if (!page.isEmpty()) {
+                UserDirectoryEntry last = page.get(page.size() - 1);
+                after = new Cursor(last.getCreateDate(), last.getUserId());
+            }
+        } while (page.size() == streamPageSize);
+    }
+
+    // 이 행 다음부터 읽는 커서
+    public static String cursorOf(UserDirectoryEntry entry) {
+        return new Cursor(entry.getCreateDate(), entry.getUserId()).encode();
+    }
+
+    private List<UserDirectoryEntry> fetch(Cursor after, int limit, String nickname, Role role) {
+        StringBuilder sql = new StringBuilder(SELECT_PAGE);
+        List<Object> args = new ArrayList<>();
+        String separator = " where ";
+        if (role != null) {
+            sql.append(separator).append("role = ?");
+            args.add(role.name());
+            separator = " and ";
+        }
+        if (nickname != null && !nickname.isBlank()) {
+            sql.append(separator).append("nickname like ?");
+            args.add(escapeLike(nickname) + "%");
+            separator = " and ";
+        }
+        if (after != null) {
+            // (create_date, id) < (?, ?) 를 풀어 쓴다. MySQL 은 행 생성자 비교에 인덱스 범위를 잘 쓰지 못한다.
+            sql.append(separator).append("(create_date < ? or (create_date = ? and id < ?))");
+            Timestamp createDate = Timestamp.valueOf(after.createDate());
+            args.add(createDate);
+            args.add(createDate);
+            args.add(after.id());
+        }
+        sql.append(" order by create_date desc, id desc limit ?");
+        args.add(limit);
+
+        return pageTimer.record(() -> readOnlyTransaction.execute(status ->
+                jdbcTemplate.query(sql.toString(), this::toEntry, args.toArray())));
+    }
+
+    // 이미지는 다른 응답과 같이 저장소 키가 아닌 제공 URL 로 내보낸다.
+    private UserDirectoryEntry toEntry(ResultSet rs, int rowNum) throws SQLException {
+        return UserDirectoryEntry.builder()
+                .userId(rs.getLong("id"))
+                .nickname(rs.getString("nickname"))
+                .profileImg(profileImageService.urlOf(rs.getString("profile_image")))
+                .role(rs.getString("role"))
+                .createDate(rs.getTimestamp("create_date").toLocalDateTime())
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record Cursor(LocalDateTime createDate, long id) {
+
+        private String encode() {
+            String raw = createDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("커서가 올바르지 않습니다.");
+            }
+        }
+    }
+}
@@ -1,141 +1,271 @@
 package com.leejeonghoon.blogproject.domain.user.service;
 
+import com.leejeonghoon.blogproject.common.datasource.ReadYourWritesPinning;
+import com.leejeonghoon.blogproject.common.exception.TooManyRequestsException;
+import com.leejeonghoon.blogproject.domain.user.cache.UserProfileCache;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserLoginRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserUpdateRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserRegisterRequestDto;
 import com.leejeonghoon.blogproject.domain.user.entity.Role;
 import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
 import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.SessionVersionCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.repository.UserProfileView;
 import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
+// 비밀번호 해시를 쓰는 메서드(가입, 로그인, 비밀번호 변경, 탈퇴)는 트랜잭션을 열지 않고 해시를 먼저 계산한 뒤,
+// DB 작업만 transactionTemplate 으로 짧게 감싼다. 해시를 기다리는 동안 DB 커넥션을 잡고 있으면
+// 해시 대기열(기본 64)이 커넥션 풀(기본 10)을 모두 점유해 다른 API까지 멈출 수 있다.
+// 이미 열린 트랜잭션 안에서 호출되면(테스트 등) 그 트랜잭션에 참여한다.
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
-
-    @Value("${file.upload.dir}")
-    private String uploadProfileImgDir;
-
-    // 프로필 이미지 저장
-    public String saveProfileImage(MultipartFile profileImage) {
-        if(profileImage == null || profileImage.isEmpty()) {
-            return "/images/default-profile.jpg";
-        }
-
-        File uploadDir = new File(uploadProfileImgDir);
-        if(!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
-
-        String filePath = uploadProfileImgDir + profileImage.getOriginalFilename();
-        File file = new File(filePath);
-        try{
-            profileImage.transferTo(file);
-        } catch (IOException e) {
-            throw new RuntimeException("프로필 이미지 저장 실패: " + e.getMessage());
-        }
-        return filePath;
-    }
-
-    // 프로필 이미지 삭제
-    private void deleteProfileImage(String profileImgPath) {
-        if (profileImgPath == null) return;
-        File file = new File(profileImgPath);
-        if (file.exists()) {
-            file.delete();
-        }
-    }
-
+    private final TokenRevocationStore tokenRevocationStore;
+    private final SessionVersionCache sessionVersionCache;
+    private final ProfileImageService profileImageService;
+    private final UserProfileCache userProfileCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesPinning readYourWritesPinning;
+    private final TransactionTemplate transactionTemplate;
 
     // 회원 가입
-    @Transactional
+    // 중복 여부를 미리 조회하지 않고 INSERT 한 번으로 처리한다. 아이디/이메일/닉네임 중복은 유니크 제약 위반으로 판단하므로
+    // 동시에 같은 값으로 가입해도 한 명만 성공한다.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponseDto register(UserRegisterRequestDto userRegisterRequestDto, MultipartFile profileImg) {
-        if(userRepository.findByLoginId(userRegisterRequestDto.getLoginId()).isPresent()) {
-            throw new IllegalArgumentException("이미 존재하는 아이디 입니다.");
-        }
-        if(userRepository.findByEmail(userRegisterRequestDto.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("이미 존재하는 Email 주소입니다.");
-        }
         if(userRegisterRequestDto.getPassword() == null || userRegisterRequestDto.getPassword().isBlank()) {
             throw new IllegalArgumentException("비밀번호는 필수입니다.");
         }
 
-        String encoredPassword = passwordEncoder.encode(userRegisterRequestDto.getPassword());
-        String profileImagePath = saveProfileImage(profileImg);
+        String encoredPassword = passwordHashingService.encode(userRegisterRequestDto.getPassword());
 
         UserEntity userEntity = UserEntity.builder()
                 .loginId(userRegisterRequestDto.getLoginId())
                 .password(encoredPassword)
                 .email(userRegisterRequestDto.getEmail())
                 .nickname(userRegisterRequestDto.getNickname())
-                .profileImg(profileImagePath)
                 .role(Role.ROLE_USER) // 403 에러 해결을 위한 회원가입 시 권한 부여
                 .build();
 
-        userRepository.save(userEntity);
-        userRepository.flush();
+        transactionTemplate.executeWithoutResult(status -> {
+            userEntity.setProfileImg(profileImageService.store(profileImg));
+            try {
+                userRepository.saveAndFlush(userEntity);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateException(e, "이미 존재하는 Email 주소입니다.");
+            }
+            readYourWritesPinning.pin(userEntity.getLoginId());
+            publishChanged(userEntity); // 다른 노드의 중복 확인 필터에도 반영된다.
+        });
 
         return UserResponseDto.builder()
                 .loginId(userEntity.getLoginId())
                 .email(userEntity.getEmail())
                 .nickname(userEntity.getNickname())
-                .profileImg(userEntity.getProfileImg())
+                .profileImg(profileImageService.urlOf(userEntity.getProfileImg()))
                 .build();
     }
 
     // 로그인
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Map<String, String> login(UserLoginRequestDto userLoginRequestDto) {
-        UserEntity userEntity = userRepository.findByLoginId(userLoginRequestDto.getLoginId())
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 아이디 입니다."));
+        UserEntity userEntity = transactionTemplate.execute(status ->
+                userRepository.findByLoginId(userLoginRequestDto.getLoginId())
+                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 아이디 입니다.")));
 
-        if(!passwordEncoder.matches(userLoginRequestDto.getPassword(), userEntity.getPassword() )) {
+        if(!passwordHashingService.matches(userLoginRequestDto.getPassword(), userEntity.getPassword() )) {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
+        rehashIfNeeded(userEntity, userLoginRequestDto.getPassword());
 
+        // 로그인마다 새로운 리프레시 토큰 계열을 시작한다.
+        return issueTokens(userEntity, UUID.randomUUID().toString());
+    }
+
+    // 리프레시 토큰 교체: 사용한 리프레시 토큰은 폐기하고 같은 계열의 새 토큰을 발급한다.
+    // DB에는 쓰지 않지만 tokenVersion 은 복제 지연 없이 읽어야 하므로 읽기 전용(복제본)으로 두지 않는다.
+    public Map<String, String> refreshToken(String refreshToken) {
+        Claims claims = jwtTokenProvider.parseClaims(refreshToken);
+        if (claims == null || !jwtTokenProvider.isRefreshToken(claims)) {
+            throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+        }
+
+        String familyId = jwtTokenProvider.getFamilyId(claims);
+        TokenDigest familyDigest = familyDigest(familyId);
+        if (tokenRevocationStore.isRevoked(familyDigest)) {
+            throw new IllegalArgumentException("로그아웃된 리프레시 토큰입니다.");
+        }
+
+        // 이미 사용된 토큰이 다시 들어오면 탈취된 것으로 보고 계열 전체를 폐기한다.
+        if (!tokenRevocationStore.markUsed(TokenDigest.of(refreshToken), claims.getExpiration().getTime())) {
+            revokeFamily(familyId);
+            throw new IllegalArgumentException("이미 사용된 리프레시 토큰입니다. 다시 로그인해주세요.");
+        }
+
+        UserEntity userEntity = userRepository.findById(jwtTokenProvider.getUserId(claims))
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+        if (jwtTokenProvider.getTokenVersion(claims) < userEntity.getTokenVersion()) {
+            throw new IllegalArgumentException("만료된 세션입니다. 다시 로그인해주세요.");
+        }
+
+        return issueTokens(userEntity, familyId);
+    }
+
+    // 로그아웃: 이 기기의 리프레시 토큰 계열을 폐기한다. 액세스 토큰은 짧은 수명이 끝나면 자연히 만료된다.
+    public void logout(String token) {
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        if (claims == null) {
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
+        }
+
+        String familyId = jwtTokenProvider.getFamilyId(claims);
+        if (familyId != null) {
+            revokeFamily(familyId);
+        }
+    }
+
+    // 이전 형식이거나 비용이 낮은 해시는 로그인에 성공한 김에 현재 설정으로 다시 해시한다.
+    // 그 사이 다른 요청이 사용자를 바꿨으면(버전 충돌) 다음 로그인으로 미룬다.
+    private void rehashIfNeeded(UserEntity userEntity, String rawPassword) {
+        if (!passwordHashingService.upgradeEncoding(userEntity.getPassword())) {
+            return;
+        }
+        try {
+            String encodedPassword = passwordHashingService.encode(rawPassword);
+            transactionTemplate.executeWithoutResult(status -> {
+                userEntity.setPassword(encodedPassword);
+                userRepository.save(userEntity);
+            });
+        } catch (TooManyRequestsException | OptimisticLockingFailureException e) {
+            log.debug("재해시를 다음 로그인으로 미룹니다: {} ({})", userEntity.getLoginId(), e.getMessage());
+        }
+    }
+
+    private Map<String, String> issueTokens(UserEntity userEntity, String familyId) {
         // JWT 토큰 생성
         String token = jwtTokenProvider.createToken(
                 userEntity.getId(),
                 userEntity.getLoginId(),
                 userEntity.getEmail(),
                 userEntity.getNickname(),
-                userEntity.getRole()
+                userEntity.getRole(),
+                userEntity.getTokenVersion(),
+                familyId
         );
-
-        // 토큰 확인을 위한 코드
-        System.out.println("생성된 토큰: " + token);
+        String refreshToken = jwtTokenProvider.createRefreshToken(userEntity.getId(), userEntity.getTokenVersion(), familyId);
 
         // JSON 형식으로 반환할 Map 생성
         Map<String, String> response = new HashMap<>();
         response.put("token", token);
+        response.put("refreshToken", refreshToken);
         response.put("loginId", userEntity.getLoginId());
 
         return response;
     }
 
-    // 로그아웃
-    public void logout(String token) {
-        long expiration = jwtTokenProvider.getExpiration(token);
+    private void revokeFamily(String familyId) {
+        tokenRevocationStore.revoke(familyDigest(familyId),
+                System.currentTimeMillis() + jwtTokenProvider.getRefreshTokenLifetime());
+    }
 
-        redisTemplate.opsForValue().set(token, "로그아웃", expiration, TimeUnit.MILLISECONDS);
+    private TokenDigest familyDigest(String familyId) {
+        return TokenDigest.of(JwtTokenProvider.FAMILY_CLAIM + ":" + familyId);
+    }
+
+    // 모든 기기에서 로그아웃: 세션 버전을 올려 지금까지 발급된 토큰을 모두 무효화한다.
+    public void logoutAll(String loginId) {
+        UserEntity userEntity = userRepository.findByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 로그인 아이디입니다."));
+
+        bumpTokenVersion(userEntity);
+        userRepository.save(userEntity);
+        publishChanged(userEntity);
+    }
+
+    // 롤백되면 캐시만 앞서 나가 유효한 토큰이 거절되므로, 새 버전은 커밋된 뒤에 캐시에 넣는다.
+    private void bumpTokenVersion(UserEntity userEntity) {
+        userEntity.setTokenVersion(userEntity.getTokenVersion() + 1);
+        Long userId = userEntity.getId();
+        long tokenVersion = userEntity.getTokenVersion();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sessionVersionCache.update(userId, tokenVersion);
+                }
+            });
+        } else {
+            sessionVersionCache.update(userId, tokenVersion);
+        }
+    }
+
+    // 커밋 이후 모든 노드의 프로필 캐시와 세션 버전 캐시에서 이 사용자를 비운다.
+    private void publishChanged(UserEntity userEntity, String... previousNicknames) {
+        eventPublisher.publishEvent(UserChangedEvent.changed(
+                userEntity.getId(), userEntity.getLoginId(), userEntity.getEmail(), userEntity.getNickname(),
+                previousNicknames));
+    }
+
+    private void publishDeleted(UserEntity userEntity) {
+        eventPublisher.publishEvent(UserChangedEvent.deleted(
+                userEntity.getId(), userEntity.getLoginId(), userEntity.getEmail(), userEntity.getNickname()));
+    }
+
+
+    // 유니크 제약 위반을 필드별 메시지로 바꾼다. 제약 이름은 DB 마다 형식이 달라(H2: PUBLIC.UK_..._INDEX_1,
+    // MySQL: users.uk_...) 이름이 포함되어 있는지로 판단한다.
+    private RuntimeException duplicateException(DataIntegrityViolationException e, String emailMessage) {
+        String violated = violatedConstraint(e).toLowerCase(Locale.ROOT);
+        if (violated.contains(UserEntity.UK_LOGIN_ID)) {
+            return new IllegalArgumentException("이미 존재하는 아이디 입니다.");
+        }
+        if (violated.contains(UserEntity.UK_EMAIL)) {
+            return new IllegalArgumentException(emailMessage);
+        }
+        if (violated.contains(UserEntity.UK_NICKNAME)) {
+            return new IllegalArgumentException("이미 사용중인 닉네임입니다.");
+        }
+        return e;
+    }
+
+    private static String violatedConstraint(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+        }
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null ? message : "";
     }
 
 
@@ -151,74 +281,92 @@ public class UserService {
             userEntity.setEmail(userUpdateRequestDto.getEmail());
         }
 
+        String previousNickname = userEntity.getNickname();
         if (userUpdateRequestDto.getNickname() != null) {
             userEntity.setNickname(userUpdateRequestDto.getNickname());
         }
 
         if (profileImage != null) {
-            deleteProfileImage(userEntity.getProfileImg());
-            String newProfileImgPath = saveProfileImage(profileImage);
-            userEntity.setProfileImg(newProfileImgPath);
+            String previousProfileImg = userEntity.getProfileImg();
+            userEntity.setProfileImg(profileImageService.store(profileImage));
+            profileImageService.release(previousProfileImg);
         }
 
-        userRepository.save(userEntity);
+        // 닉네임 중복도 제약 위반으로 판단한다. 커밋 시점이 아니라 여기서 드러나도록 바로 flush 한다.
+        try {
+            userRepository.saveAndFlush(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateException(e, "이미 사용중인 이메일입니다.");
+        }
+        publishChanged(userEntity, previousNickname);
+        readYourWritesPinning.pin(loginId);
 
         return UserResponseDto.builder()
                 .email(userEntity.getEmail())
                 .nickname(userEntity.getNickname())
-                .profileImg(userEntity.getProfileImg())
+                .profileImg(profileImageService.urlOf(userEntity.getProfileImg()))
                 .build();
     }
 
     // 사용자 삭제
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteUser(String loginId, String password) {
-        UserEntity userEntity = userRepository.findByLoginId(loginId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 아이디입니다."));
+        UserEntity userEntity = transactionTemplate.execute(status -> userRepository.findByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 아이디입니다.")));
 
-        if (!passwordEncoder.matches(password, userEntity.getPassword())) {
+        if (!passwordHashingService.matches(password, userEntity.getPassword())) {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
 
-        userRepository.delete(userEntity);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.delete(userEntity);
+            profileImageService.release(userEntity.getProfileImg());
+            publishDeleted(userEntity);
+        });
     }
 
-    // 내 정보 보기
+    // 내 정보 보기. 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션을 열지 않는다.
+    // 미스일 때는 필요한 컬럼만 읽기 전용 트랜잭션(flush 없음, 스냅샷 없음)에서 읽는다.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponseDto getUserInfoByLoginId(String loginId) {
-        UserEntity userEntity = userRepository.findByLoginId(loginId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 유저를 찾을 수 없습니다."));
-
-        return UserResponseDto.builder()
-                .loginId(userEntity.getLoginId())
-                .nickname(userEntity.getNickname())
-                .email(userEntity.getEmail())
-                .profileImg(userEntity.getProfileImg())
-                .build();
+        return userProfileCache.getByLoginId(loginId, () -> toProfile(userRepository.findProfileByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 유저를 찾을 수 없습니다."))));
     }
 
 
     // 다른 사용자 정보 보기
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponseDto getUserInfoByNickname(String nickname) {
-        UserEntity userEntity = userRepository.findByNickname(nickname)
-                .orElseThrow(() -> new IllegalArgumentException("해당 닉네임의 유저를 찾을 수 없습니다."));
+        return userProfileCache.getByNickname(nickname, () -> toProfile(userRepository.findProfileByNickname(nickname)
+                .orElseThrow(() -> new IllegalArgumentException("해당 닉네임의 유저를 찾을 수 없습니다."))));
+    }
 
+    private UserResponseDto toProfile(UserProfileView profile) {
         return UserResponseDto.builder()
-                .loginId(userEntity.getLoginId())
-                .nickname(userEntity.getNickname())
-                .email(userEntity.getEmail())
-                .profileImg(userEntity.getProfileImg())
+                .loginId(profile.getLoginId())
+                .nickname(profile.getNickname())
+                .email(profile.getEmail())
+                .profileImg(profileImageService.urlOf(profile.getProfileImg()))
+                .versionTag(profile.getId() + "." + profile.getVersion())
                 .build();
     }
 
-    // 비밀번호 변경
+    // 비밀번호 변경. 확인과 저장 사이에 다른 변경이 있었으면 버전 충돌로 실패한다.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void changePassword(String loginId, String oldPassword, String newPassword) {
-        UserEntity userEntity = userRepository.findByLoginId(loginId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 로그인 아이디입니다."));
+        UserEntity userEntity = transactionTemplate.execute(status -> userRepository.findByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 로그인 아이디입니다.")));
 
-        if(!passwordEncoder.matches(oldPassword, userEntity.getPassword())) {
+        if(!passwordHashingService.matches(oldPassword, userEntity.getPassword())) {
             throw new IllegalArgumentException("기존 비밀번호와 일치하지 않습니다.");
         }
 
-        userEntity.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(userEntity);
+        String encodedPassword = passwordHashingService.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            userEntity.setPassword(encodedPassword);
+            bumpTokenVersion(userEntity); // 비밀번호 변경 시 기존 토큰은 모두 무효화
+            userRepository.save(userEntity);
+            publishChanged(userEntity);
+        });
     }
 }
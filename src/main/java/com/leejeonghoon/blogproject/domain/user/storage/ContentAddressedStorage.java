@@ -0,0 +1,160 @@
+package com.leejeonghoon.blogproject.domain.user.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+// 내용의 SHA-256 으로 파일 위치를 정하는 저장소. 같은 내용은 한 번만 저장된다.
+// 파일은 ab/cd/<해시>.<확장자> 형태로 두 단계(256 x 256) 디렉토리에 나눠 둔다.
+// 업로드는 임시 디렉토리에 쓰면서 해시를 계산하고, 끝나면 최종 위치로 rename 하므로 읽는 쪽은 완성된 파일만 본다.
+@Component
+public class ContentAddressedStorage {
+
+    public static final String TEMP_DIR = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+    private final ImageIoMetrics metrics;
+
+    public ContentAddressedStorage(@Value("${file.upload.dir}") String uploadDir, ImageIoMetrics metrics) {
+        this.root = Path.of(uploadDir).toAbsolutePath().normalize();
+        this.metrics = metrics;
+    }
+
+    public StoredBlob store(InputStream inputStream, String extension) throws IOException {
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            long started = System.nanoTime();
+
+            try (ReadableByteChannel source = Channels.newChannel(inputStream);
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(true);
+            }
+            metrics.record(ImageIoMetrics.Operation.UPLOAD, size, System.nanoTime() - started);
+
+            String hash = HEX.formatHex(digest.digest());
+            String key = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+            Path destination = root.resolve(key);
+            if (Files.exists(destination)) {
+                // 이미 같은 내용이 있다. 수정 시각을 갱신해 정리 작업의 유예 기간 동안 지워지지 않게 한다.
+                Files.setLastModifiedTime(destination, FileTime.fromMillis(System.currentTimeMillis()));
+                return new StoredBlob(key, hash, size, false);
+            }
+
+            Files.createDirectories(destination.getParent());
+            try {
+                Files.move(tempFile, destination, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                return new StoredBlob(key, hash, size, false); // 동시에 같은 내용이 먼저 저장되었다.
+            }
+            return new StoredBlob(key, hash, size, true);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public Path resolve(String key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("올바르지 않은 이미지 키입니다: " + key);
+        }
+        return root.resolve(key);
+    }
+
+    // 파생 이미지(썸네일) 위치: 원본과 같은 디렉토리의 <해시>.<크기>.jpg
+    public Path resolveDerivative(String key, int size) {
+        Path original = resolve(key);
+        String filename = original.getFileName().toString();
+        return original.resolveSibling(filename.substring(0, filename.indexOf('.')) + "." + size + ".jpg");
+    }
+
+    // 임시 파일에 쓴 뒤 rename 해서 destination 을 통째로 바꾼다. 이미 있으면 덮어쓴다.
+    public void writeAtomically(Path destination, BlobWriter writer) throws IOException {
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        Path tempFile = Files.createTempFile(tempDir, "derivative-", ".part");
+        try {
+            long started = System.nanoTime();
+            try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(target), BUFFER_SIZE);
+                writer.write(outputStream);
+                outputStream.flush();
+                target.force(true);
+                metrics.record(ImageIoMetrics.Operation.DERIVATIVE, target.size(), System.nanoTime() - started);
+            }
+            Files.createDirectories(destination.getParent());
+            Files.move(tempFile, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public boolean exists(String key) {
+        return isKey(key) && Files.exists(root.resolve(key));
+    }
+
+    public static boolean isKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // 최상위 256개 샤드와 임시 디렉토리를 만든다. 두 번째 단계 디렉토리는 저장 시점에 필요한 것만 만든다.
+    // 임시 디렉토리는 다른 노드와 공유될 수 있어 여기서 비우지 않는다. 남은 임시 파일은
+    // OrphanImageCollector 가 유예 기간이 지난 것만 지운다.
+    public void initializeLayout() throws IOException {
+        Files.createDirectories(root.resolve(TEMP_DIR));
+        for (int shard = 0; shard < 256; shard++) {
+            Files.createDirectories(root.resolve(HEX.toHexDigits((byte) shard)));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BlobWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    // created 가 false 면 이미 저장된 파일을 재사용한 것이다.
+    public record StoredBlob(String key, String hash, long size, boolean created) {
+    }
+}
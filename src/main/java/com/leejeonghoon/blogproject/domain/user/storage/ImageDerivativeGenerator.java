@@ -0,0 +1,130 @@
+package com.leejeonghoon.blogproject.domain.user.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+// 원본 이미지로 정해진 크기의 JPEG 파생 이미지를 만든다(JDK ImageIO/Java2D 만 사용).
+// - 메타데이터(EXIF 등)는 읽지 않고 새로 인코딩하므로 결과물에 남지 않는다.
+// - 큰 원본은 디코딩 단계에서 서브샘플링해 가장 큰 결과의 2배 정도만 메모리에 올린다.
+// - 축소는 절반씩 여러 번 나눠 해서 한 번에 줄일 때 생기는 계단 현상을 줄인다.
+@Component
+public class ImageDerivativeGenerator {
+
+    // 디코딩 전에 거절할 원본 크기(압축 폭탄 방지)
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    private final ContentAddressedStorage storage;
+    private final int[] sizes;
+    private final float quality;
+
+    public ImageDerivativeGenerator(
+            ContentAddressedStorage storage,
+            @Value("${image.derivatives.sizes:64,128,256,1024}") int[] sizes,
+            @Value("${image.derivatives.quality:0.85}") float quality
+    ) {
+        this.storage = storage;
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.quality = quality;
+        ImageIO.setUseCache(false); // 디스크 캐시 없이 메모리에서 처리한다.
+    }
+
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    public void generate(String key) throws IOException {
+        BufferedImage current = decode(storage.resolve(key), sizes[sizes.length - 1]);
+
+        // 큰 크기부터 만들고, 다음 크기는 바로 앞 결과에서 줄인다.
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            int size = sizes[i];
+            double ratio = Math.min(1.0, (double) size / Math.max(current.getWidth(), current.getHeight()));
+            current = scale(current,
+                    Math.max(1, (int) Math.round(current.getWidth() * ratio)),
+                    Math.max(1, (int) Math.round(current.getHeight() * ratio)));
+
+            BufferedImage derivative = current;
+            storage.writeAtomically(storage.resolveDerivative(key, size), out -> writeJpeg(derivative, out));
+        }
+    }
+
+    private BufferedImage decode(Path source, int largestSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다: " + source.getFileName());
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("이미지가 너무 큽니다: " + width + "x" + height);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (largestSize * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 투명 영역은 흰 배경으로 채운 RGB 이미지로 만든다(JPEG 은 알파를 지원하지 않는다).
+    static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int width = current.getWidth();
+        int height = current.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, OutputStream outputStream) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.leejeonghoon.blogproject.domain.user.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// 프로필 이미지 I/O 지표. image.io(시간), image.io.bytes(크기) {operation=upload|derivative|serve}
+// 미터는 생성 시 모두 등록해 두고 기록할 때는 배열에서 꺼내 쓰므로 할당이 없다.
+@Component
+public class ImageIoMetrics {
+
+    public enum Operation {
+        // 업로드 원본을 임시 파일에 쓰기
+        UPLOAD,
+        // 썸네일 쓰기
+        DERIVATIVE,
+        // 응답으로 보내기. 시간은 FileChannel.transferTo 로 보낸 경우만 기록된다(sendfile 은 크기만).
+        SERVE
+    }
+
+    private final Timer[] timers = new Timer[Operation.values().length];
+    private final DistributionSummary[] sizes = new DistributionSummary[Operation.values().length];
+
+    public ImageIoMetrics(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+            timers[operation.ordinal()] = Timer.builder("image.io")
+                    .tag("operation", tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1).dividedBy(10))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+            sizes[operation.ordinal()] = DistributionSummary.builder("image.io.bytes")
+                    .tag("operation", tag)
+                    .baseUnit("bytes")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1024.0)
+                    .maximumExpectedValue(64.0 * 1024 * 1024)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void record(Operation operation, long bytes, long elapsedNanos) {
+        timers[operation.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sizes[operation.ordinal()].record(bytes);
+    }
+
+    // 전송 시간을 알 수 없는 경우(sendfile)
+    public void recordBytes(Operation operation, long bytes) {
+        sizes[operation.ordinal()].record(bytes);
+    }
+}
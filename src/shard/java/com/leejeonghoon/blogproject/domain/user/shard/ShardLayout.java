@@ -0,0 +1,45 @@
+package com.leejeonghoon.blogproject.domain.user.shard;
+
+import java.nio.charset.StandardCharsets;
+
+// loginId 해시 기준 샤드 배치. shardCount 와 targetShardCount 가 다르면 재샤딩 중(이중 쓰기)이다.
+// 읽기는 재샤딩이 끝날 때까지 기존 배치(shardCount)를 따른다.
+public record ShardLayout(int shardCount, int targetShardCount) {
+
+    public ShardLayout {
+        if (shardCount <= 0 || targetShardCount <= 0) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다.");
+        }
+    }
+
+    public static ShardLayout stable(int shardCount) {
+        return new ShardLayout(shardCount, shardCount);
+    }
+
+    public boolean resharding() {
+        return shardCount != targetShardCount;
+    }
+
+    public int readShard(long hash) {
+        return (int) ((hash & Long.MAX_VALUE) % shardCount);
+    }
+
+    public int targetShard(long hash) {
+        return (int) ((hash & Long.MAX_VALUE) % targetShardCount);
+    }
+
+    // 64bit FNV-1a 후 murmur3 fmix64 로 비트를 섞는다. JVM 과 무관하게 항상 같은 값이어야 한다.
+    public static long hash(String loginId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : loginId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,329 @@
+package com.leejeonghoon.blogproject.domain.user.shard;
+
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// users 테이블을 여러 DB(샤드)에 loginId 해시로 나눠 저장하는 JDBC 저장소.
+// - 샤드: 각 DB 의 users 테이블. loginId 로 샤드가 정해지므로 loginId 조회는 샤드 하나만 읽는다.
+// - 디렉터리: 전역 DB 하나. id -> loginId(user_directory)와 유일해야 하는 email/nickname 조회 테이블을 둔다.
+//   유일성은 디렉터리의 기본키/유니크 제약이 보장하고, 조회 테이블이 가리키는 샤드 행을 다시 확인하므로
+//   중간에 실패해 남은 조회 행은 결과에 영향을 주지 않는다.
+// - 재샤딩 중에는 기존 샤드와 새 샤드 모두에 쓰고(기존 샤드 먼저), 읽기는 기존 샤드에서 한다. UserResharder 참고.
+// 배치(layout)는 이 인스턴스의 필드라 여러 노드가 같은 배치를 보려면 공유 저장소가 필요하다. 그래서 아직
+// 애플리케이션에는 넣지 않고 별도 소스 세트(src/shard)에 둔다.
+public class ShardedUserRepository {
+
+    static final String SELECT_USERS = "select id, login_id, password, nickname, email, profile_image, " +
+            "create_date, update_date, role, token_version from users";
+
+    private static final String INSERT_USER = "insert into users (id, login_id, password, nickname, email, " +
+            "profile_image, create_date, update_date, role, token_version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_USER = "update users set password = ?, nickname = ?, email = ?, " +
+            "profile_image = ?, update_date = ?, role = ?, token_version = ? where login_id = ?";
+
+    static final RowMapper<UserEntity> USER_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createDate = rs.getTimestamp("create_date");
+        Timestamp updateDate = rs.getTimestamp("update_date");
+        String role = rs.getString("role");
+        return UserEntity.builder()
+                .id(rs.getLong("id"))
+                .loginId(rs.getString("login_id"))
+                .password(rs.getString("password"))
+                .nickname(rs.getString("nickname"))
+                .email(rs.getString("email"))
+                .profileImg(rs.getString("profile_image"))
+                .createDate(createDate != null ? createDate.toLocalDateTime() : null)
+                .updateDate(updateDate != null ? updateDate.toLocalDateTime() : null)
+                .role(role != null ? Role.valueOf(role) : null)
+                .tokenVersion(rs.getLong("token_version"))
+                .build();
+    };
+
+    private final TsidFactory idFactory;
+    private final JdbcTemplate directory;
+    private final TransactionTemplate directoryTransaction;
+    private final List<JdbcTemplate> shards;
+    private volatile ShardLayout layout;
+
+    // shards 는 물리 DB 전체. 재샤딩으로 늘릴 DB 도 미리 넣어 두고 layout 으로 사용 범위를 정한다.
+    public ShardedUserRepository(DataSource directory, List<DataSource> shards, ShardLayout layout,
+                                 TsidFactory idFactory) {
+        if (Math.max(layout.shardCount(), layout.targetShardCount()) > shards.size()) {
+            throw new IllegalArgumentException("샤드 배치가 DB 수보다 큽니다.");
+        }
+        this.idFactory = idFactory;
+        this.directory = new JdbcTemplate(directory);
+        this.directoryTransaction = new TransactionTemplate(new DataSourceTransactionManager(directory));
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+        this.layout = layout;
+    }
+
+    public void initializeSchema() {
+        directory.execute("create table if not exists user_directory (" +
+                "id bigint not null primary key, " +
+                "login_id varchar(255) not null, " +
+                "constraint uk_user_directory_login_id unique (login_id))");
+        directory.execute("create table if not exists user_email_lookup (" +
+                "email varchar(255) not null primary key, login_id varchar(255) not null)");
+        directory.execute("create table if not exists user_nickname_lookup (" +
+                "nickname varchar(255) not null primary key, login_id varchar(255) not null)");
+        for (JdbcTemplate shard : shards) {
+            shard.execute("create table if not exists users (" +
+                    "id bigint not null primary key, " +
+                    "login_id varchar(255) not null, " +
+                    "password varchar(255) not null, " +
+                    "nickname varchar(255) not null, " +
+                    "email varchar(255) not null, " +
+                    "profile_image varchar(255), " +
+                    "create_date timestamp, " +
+                    "update_date timestamp, " +
+                    "role varchar(255), " +
+                    "token_version bigint default 0 not null, " +
+                    "constraint uk_shard_users_login_id unique (login_id))");
+        }
+    }
+
+    public UserEntity save(UserEntity userEntity) {
+        return userEntity.getId() == null ? insert(userEntity) : update(userEntity);
+    }
+
+    public Optional<UserEntity> findByLoginId(String loginId) {
+        JdbcTemplate shard = shards.get(layout.readShard(ShardLayout.hash(loginId)));
+        return shard.query(SELECT_USERS + " where login_id = ?", USER_ROW_MAPPER, loginId).stream().findFirst();
+    }
+
+    public Optional<UserEntity> findById(Long id) {
+        return directory.queryForList("select login_id from user_directory where id = ?", String.class, id).stream()
+                .findFirst()
+                .flatMap(this::findByLoginId)
+                .filter(user -> id.equals(user.getId()));
+    }
+
+    public Optional<UserEntity> findByEmail(String email) {
+        return directory.queryForList("select login_id from user_email_lookup where email = ?", String.class, email)
+                .stream()
+                .findFirst()
+                .flatMap(this::findByLoginId)
+                .filter(user -> email.equals(user.getEmail()));
+    }
+
+    public Optional<UserEntity> findByNickname(String nickname) {
+        return directory.queryForList("select login_id from user_nickname_lookup where nickname = ?", String.class,
+                        nickname)
+                .stream()
+                .findFirst()
+                .flatMap(this::findByLoginId)
+                .filter(user -> nickname.equals(user.getNickname()));
+    }
+
+    public void deleteByLoginId(String loginId) {
+        UserEntity userEntity = findByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 로그인 아이디입니다."));
+
+        forEachWriteShard(loginId, shard -> shard.update("delete from users where login_id = ?", loginId));
+        releaseDirectory(userEntity);
+    }
+
+    public ShardLayout getLayout() {
+        return layout;
+    }
+
+    private UserEntity insert(UserEntity userEntity) {
+        String loginId = userEntity.getLoginId();
+
+        // 디렉터리 세 테이블은 한 트랜잭션에서 예약한다. 중복이면 전부 롤백된다.
+        long id = idFactory.generate();
+        directoryTransaction.executeWithoutResult(status -> {
+            try {
+                directory.update("insert into user_directory (id, login_id) values (?, ?)", id, loginId);
+            } catch (DuplicateKeyException e) {
+                throw new IllegalArgumentException("이미 존재하는 아이디 입니다.");
+            }
+            reserveEmail(userEntity.getEmail(), loginId, "이미 존재하는 Email 주소입니다.");
+            reserveNickname(userEntity.getNickname(), loginId);
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        userEntity.setId(id);
+        if (userEntity.getCreateDate() == null) {
+            userEntity.setCreateDate(now);
+        }
+        userEntity.setUpdateDate(now);
+
+        try {
+            forEachWriteShard(loginId, shard -> insertRow(shard, userEntity));
+        } catch (RuntimeException e) {
+            // 샤드 쓰기에 실패하면 예약한 디렉터리 행을 되돌린다.
+            forEachWriteShard(loginId, shard -> shard.update("delete from users where login_id = ?", loginId));
+            releaseDirectory(userEntity);
+            userEntity.setId(null);
+            throw e;
+        }
+        return userEntity;
+    }
+
+    // 새 email/nickname 을 먼저 예약하고, 샤드 행을 바꾼 뒤 이전 조회 행을 지운다.
+    private UserEntity update(UserEntity userEntity) {
+        String loginId = userEntity.getLoginId();
+        UserEntity current = findByLoginId(loginId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 로그인 아이디입니다."));
+
+        boolean emailChanged = !current.getEmail().equals(userEntity.getEmail());
+        boolean nicknameChanged = !current.getNickname().equals(userEntity.getNickname());
+        if (emailChanged || nicknameChanged) {
+            directoryTransaction.executeWithoutResult(status -> {
+                if (emailChanged) {
+                    reserveEmail(userEntity.getEmail(), loginId, "이미 사용중인 이메일입니다.");
+                }
+                if (nicknameChanged) {
+                    reserveNickname(userEntity.getNickname(), loginId);
+                }
+            });
+        }
+
+        userEntity.setId(current.getId());
+        userEntity.setCreateDate(current.getCreateDate());
+        userEntity.setUpdateDate(LocalDateTime.now());
+        try {
+            forEachWriteShard(loginId, shard -> upsertRow(shard, userEntity));
+        } catch (RuntimeException e) {
+            // 샤드 행을 이전 값으로 되돌린 뒤 새로 예약한 조회 행을 지운다. 되돌리기마저 실패하면 샤드에 새 값이
+            // 남아 있을 수 있으므로 예약은 그대로 둔다. 남은 조회 행은 값을 막을 뿐 조회 결과에는 영향이 없다.
+            try {
+                forEachWriteShard(loginId, shard -> upsertRow(shard, current));
+                directoryTransaction.executeWithoutResult(status -> {
+                    if (emailChanged) {
+                        directory.update("delete from user_email_lookup where email = ? and login_id = ?",
+                                userEntity.getEmail(), loginId);
+                    }
+                    if (nicknameChanged) {
+                        directory.update("delete from user_nickname_lookup where nickname = ? and login_id = ?",
+                                userEntity.getNickname(), loginId);
+                    }
+                });
+            } catch (RuntimeException compensationFailure) {
+                e.addSuppressed(compensationFailure);
+            }
+            throw e;
+        }
+
+        if (emailChanged) {
+            directory.update("delete from user_email_lookup where email = ? and login_id = ?",
+                    current.getEmail(), loginId);
+        }
+        if (nicknameChanged) {
+            directory.update("delete from user_nickname_lookup where nickname = ? and login_id = ?",
+                    current.getNickname(), loginId);
+        }
+        return userEntity;
+    }
+
+    private void reserveEmail(String email, String loginId, String duplicateMessage) {
+        try {
+            directory.update("insert into user_email_lookup (email, login_id) values (?, ?)", email, loginId);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(duplicateMessage);
+        }
+    }
+
+    private void reserveNickname(String nickname, String loginId) {
+        try {
+            directory.update("insert into user_nickname_lookup (nickname, login_id) values (?, ?)", nickname, loginId);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("이미 사용중인 닉네임입니다.");
+        }
+    }
+
+    private void releaseDirectory(UserEntity userEntity) {
+        String loginId = userEntity.getLoginId();
+        directoryTransaction.executeWithoutResult(status -> {
+            directory.update("delete from user_email_lookup where email = ? and login_id = ?",
+                    userEntity.getEmail(), loginId);
+            directory.update("delete from user_nickname_lookup where nickname = ? and login_id = ?",
+                    userEntity.getNickname(), loginId);
+            directory.update("delete from user_directory where login_id = ?", loginId);
+        });
+    }
+
+    // 재샤딩 중이면 기존 샤드, 새 샤드 순서로 쓴다(같은 DB 면 한 번만).
+    private void forEachWriteShard(String loginId, Consumer<JdbcTemplate> action) {
+        ShardLayout current = layout;
+        long hash = ShardLayout.hash(loginId);
+        int readShard = current.readShard(hash);
+        action.accept(shards.get(readShard));
+        if (current.resharding()) {
+            int targetShard = current.targetShard(hash);
+            if (targetShard != readShard) {
+                action.accept(shards.get(targetShard));
+            }
+        }
+    }
+
+    // 이중 쓰기 대상 새 샤드에는 아직 백필되지 않은 행이 있을 수 있으므로 없으면 넣는다.
+    static void upsertRow(JdbcTemplate shard, UserEntity userEntity) {
+        int updated = shard.update(UPDATE_USER,
+                userEntity.getPassword(),
+                userEntity.getNickname(),
+                userEntity.getEmail(),
+                userEntity.getProfileImg(),
+                toTimestamp(userEntity.getUpdateDate()),
+                userEntity.getRole() != null ? userEntity.getRole().name() : null,
+                userEntity.getTokenVersion(),
+                userEntity.getLoginId());
+        if (updated == 0) {
+            try {
+                insertRow(shard, userEntity);
+            } catch (DuplicateKeyException e) {
+                // 그 사이 백필이 넣었다면 다시 덮어쓴다.
+                upsertRow(shard, userEntity);
+            }
+        }
+    }
+
+    static void insertRow(JdbcTemplate shard, UserEntity userEntity) {
+        shard.update(INSERT_USER,
+                userEntity.getId(),
+                userEntity.getLoginId(),
+                userEntity.getPassword(),
+                userEntity.getNickname(),
+                userEntity.getEmail(),
+                userEntity.getProfileImg(),
+                toTimestamp(userEntity.getCreateDate()),
+                toTimestamp(userEntity.getUpdateDate()),
+                userEntity.getRole() != null ? userEntity.getRole().name() : null,
+                userEntity.getTokenVersion());
+    }
+
+    JdbcTemplate shard(int index) {
+        return shards.get(index);
+    }
+
+    int physicalShardCount() {
+        return shards.size();
+    }
+
+    void changeLayout(ShardLayout layout) {
+        if (Math.max(layout.shardCount(), layout.targetShardCount()) > shards.size()) {
+            throw new IllegalArgumentException("샤드 배치가 DB 수보다 큽니다.");
+        }
+        this.layout = layout;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
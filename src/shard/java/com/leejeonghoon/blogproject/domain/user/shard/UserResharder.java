@@ -0,0 +1,145 @@
+package com.leejeonghoon.blogproject.domain.user.shard;
+
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// 서비스를 멈추지 않는 재샤딩. 순서대로 수행한다.
+// 1. start: 이중 쓰기 시작. 이후의 모든 쓰기는 기존 샤드와 새 샤드 양쪽에 반영된다(읽기는 기존 샤드).
+// 2. backfill: 기존 샤드의 행을 id 키셋 순서로 읽어 새 샤드에 없을 때만 넣는다.
+//    이중 쓰기로 이미 들어간 최신 행은 덮어쓰지 않는다.
+// 3. reconcile: 백필이 읽은 직후 삭제된 행이 새 샤드에 되살아났을 수 있으므로, 기존 샤드에 없는 행을 지운다.
+// 4. cutover: 읽기/쓰기를 새 배치로 전환한다.
+// 5. purge: 새 배치에서 자기 샤드가 아닌 남은 행(이전 배치의 사본)을 지운다.
+@Slf4j
+public class UserResharder {
+
+    private final ShardedUserRepository repository;
+    private final int batchSize;
+
+    public UserResharder(ShardedUserRepository repository, int batchSize) {
+        this.repository = repository;
+        this.batchSize = batchSize;
+    }
+
+    public void start(int targetShardCount) {
+        ShardLayout layout = repository.getLayout();
+        if (layout.resharding()) {
+            throw new IllegalStateException("이미 재샤딩 중입니다.");
+        }
+        repository.changeLayout(new ShardLayout(layout.shardCount(), targetShardCount));
+        log.info("재샤딩 시작: {} -> {} 샤드 (이중 쓰기)", layout.shardCount(), targetShardCount);
+    }
+
+    public long backfill() {
+        ShardLayout layout = requireResharding();
+        long copied = 0;
+        for (int shard = 0; shard < layout.shardCount(); shard++) {
+            JdbcTemplate source = repository.shard(shard);
+            long lastId = 0;
+            List<UserEntity> batch;
+            do {
+                batch = nextBatch(source, lastId);
+                for (UserEntity userEntity : batch) {
+                    lastId = userEntity.getId();
+                    int target = layout.targetShard(ShardLayout.hash(userEntity.getLoginId()));
+                    if (target == shard) {
+                        continue;
+                    }
+                    try {
+                        ShardedUserRepository.insertRow(repository.shard(target), userEntity);
+                        copied++;
+                    } catch (DuplicateKeyException e) {
+                        // 이중 쓰기로 이미 들어간 행
+                    }
+                }
+            } while (batch.size() == batchSize);
+        }
+        log.info("재샤딩 백필 완료: {}건 복사", copied);
+        return copied;
+    }
+
+    public long reconcile() {
+        ShardLayout layout = requireResharding();
+        long removed = 0;
+        for (int shard = 0; shard < layout.targetShardCount(); shard++) {
+            JdbcTemplate target = repository.shard(shard);
+            long lastId = 0;
+            List<UserEntity> batch;
+            do {
+                batch = nextBatch(target, lastId);
+                for (UserEntity userEntity : batch) {
+                    lastId = userEntity.getId();
+                    long hash = ShardLayout.hash(userEntity.getLoginId());
+                    int source = layout.readShard(hash);
+                    if (layout.targetShard(hash) != shard || source == shard) {
+                        continue;
+                    }
+                    Integer exists = repository.shard(source).queryForObject(
+                            "select count(*) from users where login_id = ?", Integer.class, userEntity.getLoginId());
+                    if (exists == null || exists == 0) {
+                        removed += target.update("delete from users where login_id = ?", userEntity.getLoginId());
+                    }
+                }
+            } while (batch.size() == batchSize);
+        }
+        log.info("재샤딩 정합성 확인 완료: {}건 삭제", removed);
+        return removed;
+    }
+
+    public void cutover() {
+        ShardLayout layout = requireResharding();
+        repository.changeLayout(ShardLayout.stable(layout.targetShardCount()));
+        log.info("재샤딩 전환 완료: {} 샤드", layout.targetShardCount());
+    }
+
+    // 샤드를 줄인 경우 더 이상 쓰지 않는 DB 까지 비운다.
+    public long purge() {
+        ShardLayout layout = repository.getLayout();
+        if (layout.resharding()) {
+            throw new IllegalStateException("전환 이후에만 정리할 수 있습니다.");
+        }
+        long removed = 0;
+        for (int shard = 0; shard < repository.physicalShardCount(); shard++) {
+            JdbcTemplate source = repository.shard(shard);
+            long lastId = 0;
+            List<UserEntity> batch;
+            do {
+                batch = nextBatch(source, lastId);
+                for (UserEntity userEntity : batch) {
+                    lastId = userEntity.getId();
+                    if (shard >= layout.shardCount()
+                            || layout.readShard(ShardLayout.hash(userEntity.getLoginId())) != shard) {
+                        removed += source.update("delete from users where id = ?", userEntity.getId());
+                    }
+                }
+            } while (batch.size() == batchSize);
+        }
+        log.info("재샤딩 정리 완료: {}건 삭제", removed);
+        return removed;
+    }
+
+    public void run(int targetShardCount) {
+        start(targetShardCount);
+        backfill();
+        reconcile();
+        cutover();
+        purge();
+    }
+
+    private List<UserEntity> nextBatch(JdbcTemplate shard, long lastId) {
+        return shard.query(ShardedUserRepository.SELECT_USERS + " where id > ? order by id limit ?",
+                ShardedUserRepository.USER_ROW_MAPPER, lastId, batchSize);
+    }
+
+    private ShardLayout requireResharding() {
+        ShardLayout layout = repository.getLayout();
+        if (!layout.resharding()) {
+            throw new IllegalStateException("재샤딩 중이 아닙니다.");
+        }
+        return layout;
+    }
+}
@@ -0,0 +1,73 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage.StoredBlob;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentAddressedStorageTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @DisplayName("같은 내용은 한 번만 저장되고 같은 키를 받는다")
+    @Test
+    public void 같은_내용은_중복_저장되지_않는다() throws IOException {
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        storage.initializeLayout();
+
+        StoredBlob first = storage.store(stream("same image"), "png");
+        StoredBlob second = storage.store(stream("same image"), "png");
+        StoredBlob other = storage.store(stream("other image"), "png");
+
+        assertTrue(first.created());
+        assertFalse(second.created());
+        assertEquals(first.key(), second.key());
+        assertNotEquals(first.key(), other.key());
+        assertArrayEquals("same image".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(storage.resolve(first.key())));
+
+        // 임시 파일은 남지 않는다.
+        try (var leftovers = Files.list(uploadDir.resolve(".tmp"))) {
+            assertEquals(0, leftovers.count());
+        }
+    }
+
+    @DisplayName("기동 시 다른 노드가 쓰고 있는 임시 파일을 지우지 않는다")
+    @Test
+    public void 기동_시_임시_파일을_지우지_않는다() throws IOException {
+        Path inFlight = Files.createDirectories(uploadDir.resolve(".tmp")).resolve("upload-other-node.part");
+        Files.writeString(inFlight, "uploading");
+
+        new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry())).initializeLayout();
+
+        assertTrue(Files.exists(inFlight));
+    }
+
+    @DisplayName("키는 해시 앞 두 바이트로 나눈 두 단계 디렉토리에 위치한다")
+    @Test
+    public void 키는_샤드_디렉토리를_따른다() throws IOException {
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+
+        StoredBlob blob = storage.store(stream("sharded"), "jpg");
+
+        assertTrue(ContentAddressedStorage.isKey(blob.key()));
+        assertEquals(blob.hash().substring(0, 2) + "/" + blob.hash().substring(2, 4) + "/" + blob.hash() + ".jpg", blob.key());
+        assertEquals(7, blob.size());
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../../etc/passwd"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageDerivativeGenerator;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageDerivativeGeneratorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @DisplayName("원본 비율을 유지한 채 크기별 JPEG 썸네일을 만든다")
+    @Test
+    public void 크기별_썸네일을_만든다() throws IOException {
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        ImageDerivativeGenerator generator = new ImageDerivativeGenerator(storage, new int[]{256, 64, 128}, 0.85f);
+
+        BufferedImage source = new BufferedImage(1200, 600, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(source, "png", png);
+        String key = storage.store(new ByteArrayInputStream(png.toByteArray()), "png").key();
+
+        generator.generate(key);
+
+        for (int size : new int[]{64, 128, 256}) {
+            Path derivative = storage.resolveDerivative(key, size);
+            assertTrue(Files.exists(derivative));
+            BufferedImage thumbnail = ImageIO.read(derivative.toFile());
+            assertEquals(size, thumbnail.getWidth());
+            assertEquals(size / 2, thumbnail.getHeight());
+        }
+    }
+
+    @DisplayName("원본보다 큰 크기로 확대하지 않는다")
+    @Test
+    public void 작은_원본은_확대하지_않는다() throws IOException {
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        ImageDerivativeGenerator generator = new ImageDerivativeGenerator(storage, new int[]{64, 1024}, 0.85f);
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(100, 80, BufferedImage.TYPE_INT_RGB), "png", png);
+        String key = storage.store(new ByteArrayInputStream(png.toByteArray()), "png").key();
+
+        generator.generate(key);
+
+        assertEquals(100, ImageIO.read(storage.resolveDerivative(key, 1024).toFile()).getWidth());
+        assertEquals(64, ImageIO.read(storage.resolveDerivative(key, 64).toFile()).getWidth());
+    }
+
+    @DisplayName("이미지가 아닌 파일은 예외가 발생한다")
+    @Test
+    public void 이미지가_아니면_실패한다() throws IOException {
+        ContentAddressedStorage storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        ImageDerivativeGenerator generator = new ImageDerivativeGenerator(storage, new int[]{64}, 0.85f);
+        String key = storage.store(new ByteArrayInputStream("not an image".getBytes()), "png").key();
+
+        assertThrows(IOException.class, () -> generator.generate(key));
+    }
+}
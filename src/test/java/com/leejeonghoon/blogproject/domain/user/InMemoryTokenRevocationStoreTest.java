@@ -0,0 +1,48 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.jwt.InMemoryTokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTokenRevocationStoreTest {
+
+    @DisplayName("폐기한 토큰만 폐기 상태로 조회된다")
+    @Test
+    public void 폐기한_토큰만_조회된다() {
+        InMemoryTokenRevocationStore store = new InMemoryTokenRevocationStore(16, 1_000);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(store.revoke(TokenDigest.of("revoked-" + i), expiresAt));
+        }
+
+        assertFalse(store.revoke(TokenDigest.of("revoked-0"), expiresAt));
+        assertEquals(100_000, store.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(store.isRevoked(TokenDigest.of("revoked-" + i)));
+            assertFalse(store.isRevoked(TokenDigest.of("active-" + i)));
+        }
+    }
+
+    @DisplayName("만료 시각이 지난 항목은 타이밍 휠에 의해 제거된다")
+    @Test
+    public void 만료된_항목은_제거된다() throws InterruptedException {
+        InMemoryTokenRevocationStore store = new InMemoryTokenRevocationStore(16, 10);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 1_000; i++) {
+            store.revoke(TokenDigest.of("short-" + i), now + 50);
+            store.revoke(TokenDigest.of("long-" + i), now + 60_000);
+        }
+
+        Thread.sleep(100);
+        store.expire();
+
+        assertEquals(1_000, store.size());
+        assertFalse(store.isRevoked(TokenDigest.of("short-0")));
+        assertTrue(store.isRevoked(TokenDigest.of("long-0")));
+    }
+}
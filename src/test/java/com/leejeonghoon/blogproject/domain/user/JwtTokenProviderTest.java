@@ -0,0 +1,75 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtClaimsCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenProviderTest {
+
+    private static final String SECRET = "cJkrc+It1lczSEeE9vrSROLZqx2jf1LhHOAfELCohxo=";
+
+    private JwtClaimsCache claimsCache;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        claimsCache = new JwtClaimsCache(100);
+        jwtTokenProvider = new JwtTokenProvider(new JwtUtil(SECRET, 60_000, 600_000), claimsCache);
+    }
+
+    @DisplayName("검증된 토큰의 클레임은 캐시에서 재사용된다")
+    @Test
+    public void 검증된_토큰은_캐시된_클레임을_재사용한다() {
+        String token = jwtTokenProvider.createToken(1L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 0, "family");
+
+        Claims first = jwtTokenProvider.parseClaims(token);
+        Claims second = jwtTokenProvider.parseClaims(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, claimsCache.size());
+
+        Authentication authentication = jwtTokenProvider.getAuthentication(second);
+        assertEquals("testUser", authentication.getName());
+    }
+
+    @DisplayName("서명이 다른 토큰은 캐시되지 않고 거부된다")
+    @Test
+    public void 위조된_토큰은_거부된다() {
+        JwtTokenProvider otherProvider = new JwtTokenProvider(
+                new JwtUtil("c2VjcmV0LWtleS1mb3Itb3RoZXItc2VydmVyLXRlc3Rpbmc=", 60_000, 600_000), new JwtClaimsCache(100));
+        String forged = otherProvider.createToken(1L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 0, "family");
+
+        assertNull(jwtTokenProvider.parseClaims(forged));
+        assertFalse(jwtTokenProvider.validateToken("not-a-jwt"));
+        assertEquals(0, claimsCache.size());
+    }
+
+    @DisplayName("토큰에는 세션 버전이 담긴다")
+    @Test
+    public void 토큰에는_세션_버전이_담긴다() {
+        String token = jwtTokenProvider.createToken(7L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 3, "family");
+
+        Claims claims = jwtTokenProvider.parseClaims(token);
+
+        assertEquals(7L, jwtTokenProvider.getUserId(claims));
+        assertEquals(3L, jwtTokenProvider.getTokenVersion(claims));
+    }
+
+    @DisplayName("만료된 토큰은 검증에 실패한다")
+    @Test
+    public void 만료된_토큰은_거부된다() {
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(new JwtUtil(SECRET, -1_000, 600_000), claimsCache);
+        String expired = expiredProvider.createToken(1L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 0, "family");
+
+        assertNull(jwtTokenProvider.parseClaims(expired));
+    }
+}
@@ -0,0 +1,71 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.search.NicknamePrefixIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NicknamePrefixIndexTest {
+
+    @DisplayName("접두사로 시작하는 닉네임을 정렬 순서대로 limit 개까지 돌려준다")
+    @Test
+    public void 접두사_검색() {
+        NicknamePrefixIndex index = new NicknamePrefixIndex(100);
+        index.load(sink -> List.of("apple", "apricot", "banana", "app", "application", "개발자", "개구리").forEach(sink));
+
+        assertEquals(List.of("app", "apple", "application"), index.search("app", 10));
+        assertEquals(List.of("app", "apple"), index.search("ap", 2));
+        assertEquals(List.of("개구리", "개발자"), index.search("개", 10));
+        assertEquals(List.of(), index.search("cherry", 10));
+        assertEquals(7, index.size());
+    }
+
+    @DisplayName("추가/삭제가 base 와 delta 를 합친 결과에 바로 반영된다")
+    @Test
+    public void 추가_삭제_반영() {
+        NicknamePrefixIndex index = new NicknamePrefixIndex(100);
+        index.load(sink -> List.of("alpha", "alpine", "beta").forEach(sink));
+
+        index.add("alps");
+        index.add("alien");
+        index.remove("alpine");
+
+        assertEquals(List.of("alien", "alpha", "alps"), index.search("al", 10));
+
+        // 지운 base 항목을 다시 넣으면 되살아난다.
+        index.add("alpine");
+        index.remove("alps");
+        assertEquals(List.of("alien", "alpha", "alpine"), index.search("al", 10));
+        assertEquals(4, index.size());
+    }
+
+    @DisplayName("압축 전후로 무작위 변경 결과가 TreeSet 과 같다")
+    @Test
+    public void 압축_후에도_결과가_같다() {
+        NicknamePrefixIndex index = new NicknamePrefixIndex(16);
+        TreeSet<String> expected = new TreeSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 5_000; i++) {
+            String nickname = "n" + Integer.toString(random.nextInt(2_000), 36);
+            if (random.nextBoolean()) {
+                index.add(nickname);
+                expected.add(nickname);
+            } else {
+                index.remove(nickname);
+                expected.remove(nickname);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (String prefix : List.of("n", "n1", "na", "nz", "n1a")) {
+            List<String> want = expected.subSet(prefix, prefix + Character.MAX_VALUE).stream().limit(20).toList();
+            assertEquals(want, index.search(prefix, 20), prefix);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.NicknameSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NicknameSearchServiceTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final NicknameSearchService service =
+            new NicknameSearchService(userRepository, new SimpleMeterRegistry(), 100, 10, 20);
+
+    @DisplayName("이벤트에 실린 변경 전후 닉네임만으로 색인을 고치고 DB 는 읽지 않는다")
+    @Test
+    public void 이벤트만으로_색인을_고친다() {
+        service.onUserChanged(UserChangedEvent.changed(1L, "user1", "user1@test.com", "apple"));
+        assertEquals(List.of("apple"), service.search("ap", 10));
+
+        // 닉네임 변경: 이전 닉네임은 빠지고 새 닉네임만 남는다.
+        service.onUserChanged(UserChangedEvent.changed(1L, "user1", "user1@test.com", "apricot", "apple"));
+        assertEquals(List.of("apricot"), service.search("ap", 10));
+
+        // 다른 노드에서 같은 이벤트가 한 번 더 와도 결과는 같다.
+        service.onUserChanged(UserChangedEvent.changed(1L, "user1", "user1@test.com", "apricot", "apple").asRemote());
+        assertEquals(List.of("apricot"), service.search("ap", 10));
+
+        service.onUserChanged(UserChangedEvent.deleted(1L, "user1", "user1@test.com", "apricot"));
+        assertEquals(List.of(), service.search("ap", 10));
+
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    @DisplayName("닉네임이 바뀌지 않은 변경(비밀번호, 로그아웃)은 색인에서 빼지 않는다")
+    @Test
+    public void 같은_닉네임은_남긴다() {
+        service.onUserChanged(UserChangedEvent.changed(1L, "user1", "user1@test.com", "apple"));
+        service.onUserChanged(UserChangedEvent.changed(1L, "user1", "user1@test.com", "apple", "apple"));
+
+        assertEquals(List.of("apple"), service.search("ap", 10));
+    }
+}
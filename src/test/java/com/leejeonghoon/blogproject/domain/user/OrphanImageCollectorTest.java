@@ -0,0 +1,143 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.repository.ImageDerivativeJobRepository;
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageReference;
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageRepository;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.OrphanImageCollector;
+import com.leejeonghoon.blogproject.domain.user.service.ProfileImageService;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class OrphanImageCollectorTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProfileImageRepository profileImageRepository;
+
+    @Mock
+    private ImageDerivativeJobRepository derivativeJobRepository;
+
+    private ContentAddressedStorage storage;
+    private OrphanImageCollector collector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        storage.initializeLayout();
+        collector = new OrphanImageCollector(userRepository, profileImageRepository, derivativeJobRepository,
+                storage, new SimpleMeterRegistry(), HOUR, 0);
+    }
+
+    @DisplayName("참조되지 않고 유예 기간이 지난 이미지만 썸네일과 함께 지운다")
+    @Test
+    public void 참조되지_않는_오래된_이미지만_지운다() throws Exception {
+        String referenced = store("referenced");
+        String orphan = store("orphan");
+        String recentOrphan = store("recent orphan");
+        Path orphanThumbnail = storage.resolveDerivative(orphan, 64);
+        Files.writeString(orphanThumbnail, "thumbnail");
+
+        age(storage.resolve(referenced), storage.resolve(orphan), orphanThumbnail);
+        givenReferences(referenced);
+
+        OrphanImageCollector.Result result = collector.collect();
+
+        assertTrue(Files.exists(storage.resolve(referenced)));
+        assertTrue(Files.exists(storage.resolve(recentOrphan)));
+        assertFalse(Files.exists(storage.resolve(orphan)));
+        assertFalse(Files.exists(orphanThumbnail));
+        assertEquals(2, result.deletedFiles());
+        assertEquals("orphan".length() + "thumbnail".length(), result.reclaimedBytes());
+        verify(profileImageRepository).deleteByStorageKey(orphan);
+        verify(profileImageRepository, never()).deleteByStorageKey(referenced);
+    }
+
+    @DisplayName("예전 방식으로 저장된 파일도 참조가 없으면 지운다")
+    @Test
+    public void 예전_형식의_고아_파일도_지운다() throws Exception {
+        Path legacyReferenced = Files.writeString(uploadDir.resolve("avatar.png"), "legacy");
+        Path legacyOrphan = Files.writeString(uploadDir.resolve("old.png"), "legacy orphan");
+        age(legacyReferenced, legacyOrphan);
+        givenReferences(legacyReferenced.toString(), ProfileImageService.DEFAULT_PROFILE_IMAGE);
+
+        collector.collect();
+
+        assertTrue(Files.exists(legacyReferenced));
+        assertFalse(Files.exists(legacyOrphan));
+    }
+
+    @DisplayName("업로드 디렉토리의 기본 이미지와 이미지가 아닌 파일은 참조가 없어도 남긴다")
+    @Test
+    public void 기본_이미지는_지우지_않는다() throws Exception {
+        Path bundledDefault = Files.writeString(
+                uploadDir.resolve(ProfileImageService.BUNDLED_DEFAULT_PROFILE_IMAGE), "default avatar");
+        Path defaultImage = Files.writeString(uploadDir.resolve("default-profile.jpg"), "default");
+        Path notImage = Files.writeString(uploadDir.resolve(".gitkeep"), "");
+        age(bundledDefault, defaultImage, notImage);
+        givenReferences();
+
+        OrphanImageCollector.Result result = collector.collect();
+
+        assertTrue(Files.exists(bundledDefault));
+        assertTrue(Files.exists(defaultImage));
+        assertTrue(Files.exists(notImage));
+        assertEquals(0, result.deletedFiles());
+    }
+
+    private String store(String content) throws IOException {
+        return storage.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "png").key();
+    }
+
+    private void givenReferences(String... profileImages) {
+        List<ProfileImageReference> references = new ArrayList<>();
+        for (int i = 0; i < profileImages.length; i++) {
+            ProfileImageReference reference = mock(ProfileImageReference.class);
+            when(reference.getId()).thenReturn((long) i + 1);
+            when(reference.getProfileImg()).thenReturn(profileImages[i]);
+            references.add(reference);
+        }
+        when(userRepository.count()).thenReturn((long) profileImages.length);
+        when(userRepository.findProfileImagesAfter(anyLong(), any())).thenReturn(references);
+    }
+
+    private static void age(Path... files) throws IOException {
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 2 * HOUR);
+        for (Path file : files) {
+            Files.setLastModifiedTime(file, old);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.controller.ProfileImageController;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage;
+import com.leejeonghoon.blogproject.domain.user.storage.ContentAddressedStorage.StoredBlob;
+import com.leejeonghoon.blogproject.domain.user.storage.ImageIoMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ProfileImageControllerTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path uploadDir;
+
+    private ContentAddressedStorage storage;
+    private MockMvc mockMvc;
+    private StoredBlob blob;
+    private String url;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        storage = new ContentAddressedStorage(uploadDir.toString(), new ImageIoMetrics(new SimpleMeterRegistry()));
+        storage.initializeLayout();
+        blob = storage.store(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), "png");
+        url = "/api/images/profile/" + blob.key();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProfileImageController(storage, new ImageIoMetrics(new SimpleMeterRegistry())))
+                .build();
+    }
+
+    @DisplayName("전체 이미지를 해시 ETag 와 immutable 캐시로 준다")
+    @Test
+    public void 전체_이미지() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + blob.hash() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+    }
+
+    @DisplayName("ETag 가 일치하면 304 를 준다")
+    @Test
+    public void 조건부_요청() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"" + blob.hash() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @DisplayName("단일 범위와 접미사 범위는 206 으로 일부만 준다")
+    @Test
+    public void 범위_요청() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("2345"))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=7-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"));
+    }
+
+    @DisplayName("파일 밖에서 시작하는 범위는 416 이다")
+    @Test
+    public void 만족할_수_없는_범위() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-20"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @DisplayName("끝이 시작보다 앞선 범위, 여러 범위, 다른 If-Range 는 무시하고 전체를 준다")
+    @Test
+    public void 무시하는_범위() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=5-3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @DisplayName("썸네일이 없으면 원본을 짧게 캐시해 주고, 만들어진 뒤에는 썸네일을 준다")
+    @Test
+    public void 썸네일_대체() throws Exception {
+        mockMvc.perform(get(url).param("size", "64"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + blob.hash() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=60"));
+
+        Files.writeString(storage.resolveDerivative(blob.key(), 64), "thumb");
+
+        mockMvc.perform(get(url).param("size", "64"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("thumb"))
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + blob.hash() + "-64\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+    }
+
+    @DisplayName("키 형식이 아니거나 없는 파일은 404 다")
+    @Test
+    public void 없는_이미지() throws Exception {
+        mockMvc.perform(get("/api/images/profile/zz/zz/not-a-hash.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/images/profile/00/00/" + "0".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+    }
+}
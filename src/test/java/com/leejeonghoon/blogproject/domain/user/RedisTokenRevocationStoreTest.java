@@ -0,0 +1,165 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import com.leejeonghoon.blogproject.domain.user.jwt.RedisTokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenDigest;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 프로세스 내부 Redis(jedis-mock, RESP 프로토콜 서버) 하나에 노드 두 개(각자 블룸 필터 사본과 pub/sub 구독)를 붙여
+// 동기화를 확인한다. Docker 나 외부 Redis 가 없어도 건너뛰지 않고 항상 실행된다.
+public class RedisTokenRevocationStoreTest {
+
+    private static final String SECRET = "cJkrc+It1lczSEeE9vrSROLZqx2jf1LhHOAfELCohxo=";
+    private static final String KEY_PREFIX = "jwt:revoked:";
+
+    private static RedisServer redisServer;
+
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer();
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redisServer.getHost(), redisServer.getBindPort());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listenerContainers.forEach(RedisMessageListenerContainer::stop);
+        connectionFactory.destroy();
+    }
+
+    @DisplayName("폐기되지 않은 토큰은 Redis 조회 없이 통과한다")
+    @Test
+    public void 폐기되지_않은_토큰은_Redis를_조회하지_않는다() {
+        RedisTokenRevocationStore node = node();
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(node.isRevoked(TokenDigest.of("token-" + i)));
+        }
+
+        assertEquals(1_000, node.getLocalNegatives());
+        assertEquals(0, node.getRedisLookups());
+    }
+
+    @DisplayName("폐기는 SET NX 로 한 번만 성공하고 TTL 이 지나면 풀린다")
+    @Test
+    public void 폐기는_한_번만_성공하고_만료된다() throws InterruptedException {
+        RedisTokenRevocationStore node = node();
+        TokenDigest digest = TokenDigest.of("revoked-token");
+
+        assertTrue(node.revoke(digest, System.currentTimeMillis() + 500));
+        assertFalse(node.revoke(digest, System.currentTimeMillis() + 500));
+        assertTrue(node.isRevoked(digest));
+        Long ttl = redisTemplate.getExpire(KEY_PREFIX + digest.toHex(), TimeUnit.MILLISECONDS);
+        assertTrue(ttl != null && ttl > 0 && ttl <= 500);
+
+        // 블룸 필터에는 남아 있어도 Redis 가 원본이므로 만료되면 폐기되지 않은 것으로 본다.
+        await(() -> !Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + digest.toHex())));
+        assertFalse(node.isRevoked(digest));
+    }
+
+    @DisplayName("한 노드의 폐기가 pub/sub 으로 다른 노드의 사본에 반영된다")
+    @Test
+    public void 다른_노드의_폐기가_동기화된다() throws InterruptedException {
+        RedisTokenRevocationStore first = node();
+        RedisTokenRevocationStore second = node();
+        TokenDigest digest = TokenDigest.of("other-node-token");
+
+        assertFalse(second.isRevoked(digest));
+        first.revoke(digest, System.currentTimeMillis() + 60_000);
+
+        await(() -> second.isRevoked(digest));
+    }
+
+    @DisplayName("기동 시 Redis 의 폐기 목록으로 사본을 채운다")
+    @Test
+    public void 기동_시_동기화한다() {
+        TokenDigest digest = TokenDigest.of("revoked-before-start");
+        redisTemplate.opsForValue().set(KEY_PREFIX + digest.toHex(), "1", 60, TimeUnit.SECONDS);
+
+        RedisTokenRevocationStore node = node();
+        node.resync();
+
+        assertTrue(node.isRevoked(digest));
+    }
+
+    @DisplayName("리프레시 토큰 사용 기록은 SET NX 로 한 번만 성공하고 사본에 넣거나 전파하지 않는다")
+    @Test
+    public void 사용_기록은_블룸_필터에_넣지_않는다() throws InterruptedException {
+        RedisTokenRevocationStore first = node();
+        RedisTokenRevocationStore second = node();
+        TokenDigest digest = TokenDigest.of("refresh-token");
+
+        assertTrue(first.markUsed(digest, System.currentTimeMillis() + 60_000));
+        assertFalse(second.markUsed(digest, System.currentTimeMillis() + 60_000));
+
+        // 전파된다면 폐기 채널 메시지가 도착했을 시간을 준 뒤, 두 노드 모두 Redis 조회 없이 통과하는지 본다.
+        first.revoke(TokenDigest.of("marker"), System.currentTimeMillis() + 60_000);
+        await(() -> second.isRevoked(TokenDigest.of("marker")));
+        second.resync();
+        assertFalse(first.isRevoked(digest));
+        assertFalse(second.isRevoked(digest));
+        assertEquals(0, first.getRedisLookups());
+        assertEquals(1, second.getRedisLookups());
+    }
+
+    // 운영 설정(RedisConfig)처럼 폐기 채널을 구독하는 노드 하나를 만든다.
+    private RedisTokenRevocationStore node() {
+        RedisTokenRevocationStore store =
+                new RedisTokenRevocationStore(redisTemplate, new JwtUtil(SECRET, 60_000, 600_000), 1_000, 0.001);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(store, new ChannelTopic(RedisTokenRevocationStore.CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        listenerContainers.add(container);
+        return store;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("제한 시간 안에 조건을 만족하지 못했습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
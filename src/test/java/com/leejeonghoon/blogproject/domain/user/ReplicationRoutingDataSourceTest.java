@@ -0,0 +1,158 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.datasource.ReadYourWritesPinning;
+import com.leejeonghoon.blogproject.common.datasource.ReplicationRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// primary 와 복제본을 각각 별도의 H2 인메모리 DB 로 띄우고, 어느 DB 에서 읽었는지 node 테이블로 구분한다.
+public class ReplicationRoutingDataSourceTest {
+
+    private final ReadYourWritesPinning pinning = new ReadYourWritesPinning(60_000);
+
+    @AfterEach
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 복제본, 나머지는 primary 에서 수행한다")
+    @Test
+    public void 읽기_전용_트랜잭션은_복제본으로_보낸다() {
+        Fixture fixture = new Fixture(h2("primary"), Map.of("replica", h2("replica")));
+
+        assertEquals("replica", fixture.readOnly());
+        assertEquals("primary", fixture.readWrite());
+        assertEquals("primary", fixture.jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @DisplayName("복제본이 여러 개면 번갈아 사용한다")
+    @Test
+    public void 복제본을_번갈아_사용한다() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", h2("replica-0"));
+        replicas.put("replica-1", h2("replica-1"));
+        Fixture fixture = new Fixture(h2("primary"), replicas);
+
+        List<String> nodes = List.of(fixture.readOnly(), fixture.readOnly(), fixture.readOnly(), fixture.readOnly());
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), nodes);
+    }
+
+    @DisplayName("방금 쓴 사용자의 읽기는 고정 시간 동안 primary 에서 수행한다")
+    @Test
+    public void 쓰기_직후에는_primary_에서_읽는다() {
+        Fixture fixture = new Fixture(h2("primary"), Map.of("replica", h2("replica")));
+        authenticate("writer");
+
+        fixture.transactionTemplate.executeWithoutResult(status -> pinning.pin("writer"));
+        assertEquals("primary", fixture.readOnly());
+
+        authenticate("other");
+        assertEquals("replica", fixture.readOnly());
+    }
+
+    @DisplayName("커밋되지 않은 쓰기는 고정하지 않는다")
+    @Test
+    public void 롤백된_쓰기는_고정하지_않는다() {
+        Fixture fixture = new Fixture(h2("primary"), Map.of("replica", h2("replica")));
+        authenticate("writer");
+
+        fixture.transactionTemplate.executeWithoutResult(status -> {
+            pinning.pin("writer");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", fixture.readOnly());
+    }
+
+    @DisplayName("연결할 수 없는 복제본은 제외하고 primary 에서 읽는다")
+    @Test
+    public void 장애_복제본은_제외한다() {
+        DriverManagerDataSource broken = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        Fixture fixture = new Fixture(h2("primary"), Map.of("broken", broken));
+
+        assertEquals("primary", fixture.readOnly());
+        assertEquals(0, fixture.routing.healthyReplicaCount());
+
+        fixture.routing.checkReplicas();
+        assertEquals(0, fixture.routing.healthyReplicaCount());
+    }
+
+    @DisplayName("상태 검사에 통과하면 제외했던 복제본을 다시 사용한다")
+    @Test
+    public void 회복된_복제본은_다시_사용한다() {
+        String name = "recovering-" + UUID.randomUUID();
+        String url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource replica = new DriverManagerDataSource(url + ";IFEXISTS=TRUE", "sa", "");
+        Fixture fixture = new Fixture(h2("primary"), Map.of("replica", replica));
+
+        assertEquals("primary", fixture.readOnly());
+
+        // 복제본 DB 생성(회복)
+        initialize(new DriverManagerDataSource(url, "sa", ""), "replica");
+        fixture.routing.checkReplicas();
+
+        assertEquals(1, fixture.routing.healthyReplicaCount());
+        assertEquals("replica", fixture.readOnly());
+    }
+
+    private void authenticate(String loginId) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(loginId, null, List.of()));
+    }
+
+    private static DataSource h2(String node) {
+        String url = "jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        initialize(dataSource, node);
+        return dataSource;
+    }
+
+    private static void initialize(DataSource dataSource, String node) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(50))");
+        jdbcTemplate.update("insert into node (name) values (?)", node);
+    }
+
+    private class Fixture {
+
+        private final ReplicationRoutingDataSource routing;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final TransactionTemplate readOnlyTemplate;
+
+        private Fixture(DataSource primary, Map<String, DataSource> replicas) {
+            this.routing = new ReplicationRoutingDataSource(primary, replicas, pinning);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+            this.readOnlyTemplate.setReadOnly(true);
+        }
+
+        private String readOnly() {
+            return readOnlyTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+
+        private String readWrite() {
+            return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+    }
+}
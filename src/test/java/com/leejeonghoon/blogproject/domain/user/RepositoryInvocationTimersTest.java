@@ -0,0 +1,85 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.metrics.JdbcQueryTimer;
+import com.leejeonghoon.blogproject.common.metrics.RepositoryInvocationTimers;
+import com.leejeonghoon.blogproject.domain.user.repository.ProfileImageRepository;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepositoryInvocationTimersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepositoryInvocationTimers timers = new RepositoryInvocationTimers(meterRegistry);
+
+    @DisplayName("리포지토리와 메서드, 성공 여부별로 호출 시간을 나눠 기록한다")
+    @Test
+    public void 리포지토리_메서드별_기록() throws Exception {
+        Method findByLoginId = UserRepository.class.getMethod("findByLoginId", String.class);
+        // save 는 두 리포지토리가 같은 Method(CrudRepository.save)를 공유한다.
+        Method save = CrudRepository.class.getMethod("save", Object.class);
+
+        timers.afterInvocation(invocation(UserRepository.class, findByLoginId, State.SUCCESS, 2));
+        timers.afterInvocation(invocation(UserRepository.class, findByLoginId, State.SUCCESS, 4));
+        timers.afterInvocation(invocation(UserRepository.class, findByLoginId, State.ERROR, 8));
+        timers.afterInvocation(invocation(UserRepository.class, save, State.SUCCESS, 1));
+        timers.afterInvocation(invocation(ProfileImageRepository.class, save, State.SUCCESS, 1));
+
+        Timer success = timer("UserRepository", "findByLoginId", "success");
+        assertEquals(2, success.count());
+        assertEquals(6, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, timer("UserRepository", "findByLoginId", "error").count());
+        assertEquals(1, timer("UserRepository", "save", "success").count());
+        assertEquals(1, timer("ProfileImageRepository", "save", "success").count());
+    }
+
+    @DisplayName("JdbcTemplate 쿼리는 같은 지표에 호출한 클래스와 쿼리 이름으로 기록하고 예외는 그대로 던진다")
+    @Test
+    public void JdbcTemplate_쿼리_기록() {
+        JdbcQueryTimer lookup = new JdbcQueryTimer(meterRegistry, UserAvailabilityService.class, "isAvailable");
+
+        assertEquals(1, lookup.record(() -> 1));
+        IllegalStateException failure = new IllegalStateException("실패");
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> lookup.run(() -> {
+            throw failure;
+        })));
+
+        assertEquals(1, timer("UserAvailabilityService", "isAvailable", "success").count());
+        assertEquals(1, timer("UserAvailabilityService", "isAvailable", "error").count());
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return meterRegistry.get("repository.query")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private static RepositoryMethodInvocation invocation(Class<?> repository, Method method, State state, long millis) {
+        RepositoryMethodInvocationResult result = new RepositoryMethodInvocationResult() {
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public Throwable getError() {
+                return state == State.ERROR ? new IllegalStateException("실패") : null;
+            }
+        };
+        return new RepositoryMethodInvocation(repository, method, result, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,206 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.shard.ShardLayout;
+import com.leejeonghoon.blogproject.domain.user.shard.ShardedUserRepository;
+import com.leejeonghoon.blogproject.domain.user.shard.UserResharder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 디렉터리 DB 하나와 샤드 DB 여러 개를 각각 H2 인메모리 DB 로 띄운다.
+public class ShardedUserRepositoryTest {
+
+    private final DataSource directory = h2("directory");
+    private final List<DataSource> shards = List.of(h2("shard-0"), h2("shard-1"), h2("shard-2"), h2("shard-3"));
+
+    @DisplayName("loginId 해시로 샤드를 나누고 id/email/nickname 으로도 찾을 수 있다")
+    @Test
+    public void 샤드에_나눠_저장하고_조회한다() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(4));
+        for (int i = 0; i < 100; i++) {
+            repository.save(user("user" + i));
+        }
+
+        for (int shard = 0; shard < 4; shard++) {
+            assertTrue(count(shard) > 0, "샤드 " + shard + " 에 저장된 사용자가 없습니다.");
+        }
+        assertEquals(100, count(0) + count(1) + count(2) + count(3));
+
+        UserEntity saved = repository.findByLoginId("user42").orElseThrow();
+        assertEquals("user42@test.com", saved.getEmail());
+        assertEquals(saved.getId(), repository.findById(saved.getId()).orElseThrow().getId());
+        assertEquals("user42", repository.findByEmail("user42@test.com").orElseThrow().getLoginId());
+        assertEquals("user42", repository.findByNickname("닉네임user42").orElseThrow().getLoginId());
+    }
+
+    @DisplayName("다른 샤드에 있는 사용자와도 email 과 nickname 이 중복될 수 없다")
+    @Test
+    public void 전역_유일성을_보장한다() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(4));
+        repository.save(user("first"));
+
+        UserEntity duplicateEmail = user("second");
+        duplicateEmail.setEmail("first@test.com");
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> repository.save(duplicateEmail));
+        assertEquals("이미 존재하는 Email 주소입니다.", exception.getMessage());
+
+        UserEntity duplicateNickname = user("third");
+        duplicateNickname.setNickname("닉네임first");
+        assertThrows(IllegalArgumentException.class, () -> repository.save(duplicateNickname));
+
+        // 실패한 가입은 디렉터리에 흔적을 남기지 않는다.
+        repository.save(user("second"));
+        assertTrue(repository.findByLoginId("second").isPresent());
+    }
+
+    @DisplayName("닉네임을 바꾸면 이전 닉네임을 다른 사용자가 쓸 수 있다")
+    @Test
+    public void 수정하면_이전_조회_행을_지운다() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(4));
+        UserEntity userEntity = repository.save(user("changer"));
+
+        userEntity.setNickname("새닉네임");
+        repository.save(userEntity);
+
+        assertTrue(repository.findByNickname("닉네임changer").isEmpty());
+        assertEquals("changer", repository.findByNickname("새닉네임").orElseThrow().getLoginId());
+
+        UserEntity other = user("other");
+        other.setNickname("닉네임changer");
+        repository.save(other);
+        assertEquals("other", repository.findByNickname("닉네임changer").orElseThrow().getLoginId());
+    }
+
+    @DisplayName("이중 쓰기 중의 변경을 잃지 않고 2개에서 4개 샤드로 재샤딩한다")
+    @Test
+    public void 서비스_중_재샤딩() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(2));
+        for (int i = 0; i < 200; i++) {
+            repository.save(user("user" + i));
+        }
+        assertEquals(0, count(2) + count(3));
+
+        UserResharder resharder = new UserResharder(repository, 16);
+        resharder.start(4);
+
+        // 이중 쓰기 중 변경: 수정, 삭제, 신규 가입
+        List<String> deleted = new ArrayList<>();
+        for (int i = 0; i < 200; i += 10) {
+            UserEntity userEntity = repository.findByLoginId("user" + i).orElseThrow();
+            userEntity.setTokenVersion(7);
+            repository.save(userEntity);
+        }
+        for (int i = 5; i < 200; i += 20) {
+            repository.deleteByLoginId("user" + i);
+            deleted.add("user" + i);
+        }
+        for (int i = 200; i < 220; i++) {
+            repository.save(user("user" + i));
+        }
+
+        resharder.backfill();
+        resharder.reconcile();
+        resharder.cutover();
+        resharder.purge();
+
+        assertEquals(ShardLayout.stable(4), repository.getLayout());
+        for (int i = 0; i < 220; i++) {
+            String loginId = "user" + i;
+            if (deleted.contains(loginId)) {
+                assertTrue(repository.findByLoginId(loginId).isEmpty(), loginId);
+                continue;
+            }
+            UserEntity userEntity = repository.findByLoginId(loginId).orElseThrow();
+            assertEquals(i < 200 && i % 10 == 0 ? 7 : 0, userEntity.getTokenVersion(), loginId);
+            assertEquals(loginId, repository.findByEmail(loginId + "@test.com").orElseThrow().getLoginId());
+        }
+
+        // 정리 이후 각 샤드에는 자기 행만 남는다.
+        assertEquals(220 - deleted.size(), count(0) + count(1) + count(2) + count(3));
+        for (int shard = 0; shard < 4; shard++) {
+            for (String loginId : new JdbcTemplate(shards.get(shard))
+                    .queryForList("select login_id from users", String.class)) {
+                assertEquals(shard, ShardLayout.stable(4).readShard(ShardLayout.hash(loginId)), loginId);
+            }
+        }
+    }
+
+    @DisplayName("백필이 읽은 뒤 삭제된 사용자는 새 샤드에 되살아나지 않는다")
+    @Test
+    public void 삭제된_행은_정합성_확인에서_지운다() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(1));
+        for (int i = 0; i < 50; i++) {
+            repository.save(user("user" + i));
+        }
+        UserResharder resharder = new UserResharder(repository, 16);
+        resharder.start(2);
+        resharder.backfill();
+
+        // 백필 이후(또는 백필이 읽은 직후) 새 샤드에 있는 사용자를 기존 샤드에서만 지운 상황
+        String moved = new JdbcTemplate(shards.get(1)).queryForList("select login_id from users", String.class).get(0);
+        new JdbcTemplate(shards.get(0)).update("delete from users where login_id = ?", moved);
+
+        assertEquals(1, resharder.reconcile());
+        resharder.cutover();
+        assertTrue(repository.findByLoginId(moved).isEmpty());
+    }
+
+    @DisplayName("수정 중 샤드 쓰기에 실패하면 샤드 행을 되돌리고 새로 예약한 닉네임을 풀어 준다")
+    @Test
+    public void 수정_실패_시_예약을_되돌린다() {
+        ShardedUserRepository repository = repository(ShardLayout.stable(4));
+        repository.save(user("user1"));
+        int shard = ShardLayout.stable(4).readShard(ShardLayout.hash("user1"));
+        new JdbcTemplate(shards.get(shard))
+                .execute("alter table users add constraint ck_users_nickname check (nickname <> '금지')");
+
+        UserEntity changed = user("user1");
+        changed.setId(repository.findByLoginId("user1").orElseThrow().getId());
+        changed.setNickname("금지");
+        assertThrows(RuntimeException.class, () -> repository.save(changed));
+
+        assertEquals("닉네임user1", repository.findByLoginId("user1").orElseThrow().getNickname());
+        assertTrue(repository.findByNickname("닉네임user1").isPresent());
+        assertEquals(0, new JdbcTemplate(directory).queryForObject(
+                "select count(*) from user_nickname_lookup where nickname = '금지'", Integer.class));
+    }
+
+    private ShardedUserRepository repository(ShardLayout layout) {
+        ShardedUserRepository repository =
+                new ShardedUserRepository(directory, shards, layout, TsidFactory.forNode(1));
+        repository.initializeSchema();
+        return repository;
+    }
+
+    private int count(int shard) {
+        Integer count = new JdbcTemplate(shards.get(shard)).queryForObject("select count(*) from users", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static UserEntity user(String loginId) {
+        return UserEntity.builder()
+                .loginId(loginId)
+                .password("encoded")
+                .email(loginId + "@test.com")
+                .nickname("닉네임" + loginId)
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
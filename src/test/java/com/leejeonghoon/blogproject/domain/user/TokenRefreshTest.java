@@ -0,0 +1,110 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.entity.UserEntity;
+import com.leejeonghoon.blogproject.domain.user.jwt.InMemoryTokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtClaimsCache;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtTokenProvider;
+import com.leejeonghoon.blogproject.domain.user.jwt.JwtUtil;
+import com.leejeonghoon.blogproject.domain.user.jwt.TokenRevocationStore;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TokenRefreshTest {
+
+    private static final String SECRET = "cJkrc+It1lczSEeE9vrSROLZqx2jf1LhHOAfELCohxo=";
+
+    @Spy
+    private JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(new JwtUtil(SECRET, 60_000, 600_000), new JwtClaimsCache(100));
+
+    @Spy
+    private TokenRevocationStore tokenRevocationStore = new InMemoryTokenRevocationStore(16, 1_000);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    private UserEntity userEntity;
+
+    @BeforeEach
+    void setUp() {
+        userEntity = UserEntity.builder()
+                .id(1L)
+                .loginId("testUser")
+                .email("test@example.com")
+                .nickname("testNickname")
+                .role(Role.ROLE_USER)
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+    }
+
+    @DisplayName("리프레시 토큰을 사용하면 같은 계열의 새 토큰으로 교체된다")
+    @Test
+    public void 리프레시_토큰은_교체된다() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(1L, 0, "family-1");
+
+        Map<String, String> response = userService.refreshToken(refreshToken);
+
+        assertNotNull(response.get("token"));
+        assertNotEquals(refreshToken, response.get("refreshToken"));
+        assertEquals("family-1", jwtTokenProvider.getFamilyId(jwtTokenProvider.parseClaims(response.get("refreshToken"))));
+    }
+
+    @DisplayName("이미 사용된 리프레시 토큰이 다시 들어오면 계열 전체가 폐기된다")
+    @Test
+    public void 재사용된_리프레시_토큰은_계열을_폐기한다() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(1L, 0, "family-2");
+        String rotated = userService.refreshToken(refreshToken).get("refreshToken");
+
+        assertThrows(IllegalArgumentException.class, () -> userService.refreshToken(refreshToken));
+        assertThrows(IllegalArgumentException.class, () -> userService.refreshToken(rotated));
+    }
+
+    @DisplayName("로그아웃하면 해당 계열의 리프레시 토큰을 사용할 수 없다")
+    @Test
+    public void 로그아웃하면_리프레시_토큰이_폐기된다() {
+        String accessToken = jwtTokenProvider.createToken(1L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 0, "family-3");
+        String refreshToken = jwtTokenProvider.createRefreshToken(1L, 0, "family-3");
+
+        userService.logout(accessToken);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.refreshToken(refreshToken));
+    }
+
+    @DisplayName("세션 버전이 올라간 뒤에는 이전 리프레시 토큰을 사용할 수 없다")
+    @Test
+    public void 세션_버전이_오르면_리프레시_토큰이_무효화된다() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(1L, 0, "family-4");
+        userEntity.setTokenVersion(1);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.refreshToken(refreshToken));
+    }
+
+    @DisplayName("액세스 토큰으로는 재발급할 수 없다")
+    @Test
+    public void 액세스_토큰으로는_재발급할_수_없다() {
+        String accessToken = jwtTokenProvider.createToken(1L, "testUser", "test@example.com", "testNickname", Role.ROLE_USER, 0, "family-5");
+
+        assertThrows(IllegalArgumentException.class, () -> userService.refreshToken(accessToken));
+    }
+}
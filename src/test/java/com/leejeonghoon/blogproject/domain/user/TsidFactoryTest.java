@@ -0,0 +1,95 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.common.id.TsidFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TsidFactoryTest {
+
+    @DisplayName("한 노드에서 발급한 id 는 항상 양수이고 증가한다")
+    @Test
+    public void 발급_순서대로_증가한다() {
+        TsidFactory factory = TsidFactory.forNode(3);
+        long previous = 0;
+        // 밀리초당 순번(4096)을 넘길 만큼 발급한다.
+        for (int i = 0; i < 100_000; i++) {
+            long id = factory.generate();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(3, TsidFactory.nodeIdOf(previous));
+    }
+
+    @DisplayName("id 에서 발급 시각을 꺼낼 수 있다")
+    @Test
+    public void 발급_시각을_담는다() {
+        Instant before = Instant.now();
+        Instant issued = TsidFactory.timestampOf(TsidFactory.forNode(4).generate());
+
+        assertFalse(issued.isBefore(before.minusMillis(1)));
+        assertTrue(Duration.between(before, issued).toSeconds() < 5);
+    }
+
+    @DisplayName("여러 스레드가 동시에 발급해도 같은 노드 안에서 중복되지 않는다")
+    @Test
+    public void 동시_발급에도_중복되지_않는다() throws Exception {
+        TsidFactory factory = TsidFactory.forNode(5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[20_000];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = factory.generate();
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<Long> unique = new HashSet<>();
+            for (Future<long[]> result : results) {
+                for (long id : result.get()) {
+                    assertTrue(unique.add(id), "중복 id: " + id);
+                }
+            }
+            assertEquals(8 * 20_000, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("노드 id 가 다르면 같은 시각에도 다른 id 가 나온다")
+    @Test
+    public void 노드마다_다른_id() {
+        long first = TsidFactory.forNode(6).generate();
+        long second = TsidFactory.forNode(7).generate();
+
+        assertNotEquals(first, second);
+        assertEquals(6, TsidFactory.nodeIdOf(first));
+        assertEquals(7, TsidFactory.nodeIdOf(second));
+        assertThrows(IllegalArgumentException.class, () -> TsidFactory.forNode(TsidFactory.MAX_NODE_ID + 1));
+    }
+
+    @DisplayName("노드 id 가 없으면 허용된 경우에만 정해 내고, 아니면 기동을 멈춘다")
+    @Test
+    public void 노드_id_가_없으면_실패한다() {
+        assertEquals(12, TsidFactory.resolveNodeId(12, false));
+        assertThrows(IllegalStateException.class, () -> TsidFactory.resolveNodeId(-1, false));
+
+        int derived = TsidFactory.resolveNodeId(-1, true);
+        assertTrue(derived >= 0 && derived <= TsidFactory.MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,121 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService.Field;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserAvailabilityServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:availability-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final UserAvailabilityService service =
+            new UserAvailabilityService(jdbcTemplate, meterRegistry, 10_000, 0.001, 7);
+
+    {
+        jdbcTemplate.execute("create table users (id bigint primary key, login_id varchar(255), " +
+                "email varchar(255), nickname varchar(255))");
+        for (int i = 1; i <= 50; i++) {
+            insert(i, "user" + i);
+        }
+    }
+
+    @DisplayName("기동 시 users 테이블 전체를 필터에 넣고, 필터에 없는 값은 DB 를 거치지 않는다")
+    @Test
+    public void 필터에_없으면_DB_를_거치지_않는다() {
+        assertFalse(service.isReady());
+        service.rebuild();
+        assertTrue(service.isReady());
+
+        for (int i = 1; i <= 50; i++) {
+            assertFalse(service.isAvailable(Field.LOGIN_ID, "user" + i));
+            assertFalse(service.isAvailable(Field.EMAIL, "user" + i + "@test.com"));
+            assertFalse(service.isAvailable(Field.NICKNAME, "닉" + i));
+        }
+        assertEquals(150, lookups("database"));
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(service.isAvailable(Field.LOGIN_ID, "free" + i));
+        }
+        // 오탐률 0.1% 이므로 1000건 중 DB 까지 가는 경우는 거의 없다.
+        assertTrue(lookups("bloom") >= 990);
+    }
+
+    @DisplayName("대소문자만 다른 값은 DB 비교 규칙에 맡긴다")
+    @Test
+    public void 대소문자가_다른_값은_DB_에서_확인한다() {
+        service.rebuild();
+
+        service.isAvailable(Field.EMAIL, "USER1@TEST.COM");
+        assertEquals(1, lookups("database"));
+    }
+
+    @DisplayName("가입/수정 이벤트로 새 값을 필터에 더한다")
+    @Test
+    public void 변경_이벤트로_필터를_갱신한다() {
+        service.rebuild();
+        insert(51, "newcomer");
+
+        // 이벤트 전에는 필터에 없으므로 (틀린) 사용 가능 답을 낸다.
+        assertTrue(service.isAvailable(Field.NICKNAME, "닉51"));
+
+        service.onUserChanged(UserChangedEvent.changed(51L, "newcomer", "newcomer@test.com", "닉51"));
+        assertFalse(service.isAvailable(Field.LOGIN_ID, "newcomer"));
+        assertFalse(service.isAvailable(Field.EMAIL, "newcomer@test.com"));
+        assertFalse(service.isAvailable(Field.NICKNAME, "닉51"));
+    }
+
+    @DisplayName("이벤트에 실린 값만으로 필터를 채우고 사용자를 다시 읽지 않는다")
+    @Test
+    public void 이벤트_값으로_필터를_채운다() {
+        service.rebuild();
+        // 아직 커밋이 보이지 않는 노드처럼 DB 에는 행이 없다.
+        service.onUserChanged(UserChangedEvent.changed(52L, "remote", "remote@test.com", "원격닉").asRemote());
+
+        // 필터에 들어갔으므로 세 값 모두 DB 확인으로 넘어간다.
+        service.isAvailable(Field.LOGIN_ID, "remote");
+        service.isAvailable(Field.EMAIL, "remote@test.com");
+        service.isAvailable(Field.NICKNAME, "원격닉");
+        assertEquals(3, lookups("database"));
+
+        // 탈퇴 이벤트는 아무것도 더하지 않는다.
+        service.onUserChanged(UserChangedEvent.deleted(53L, "gone", "gone@test.com", "떠난닉"));
+        service.isAvailable(Field.LOGIN_ID, "gone");
+        assertEquals(3, lookups("database"));
+    }
+
+    @DisplayName("필터를 만들기 전이나 지워진 값은 DB 에서 확인한다")
+    @Test
+    public void 필터가_없거나_지워진_값은_DB_에서_확인한다() {
+        assertFalse(service.isAvailable(Field.LOGIN_ID, "user1"));
+        assertTrue(service.isAvailable(Field.LOGIN_ID, "nobody"));
+        assertEquals(2, lookups("database"));
+
+        service.rebuild();
+        jdbcTemplate.update("delete from users where id = 1");
+        assertTrue(service.isAvailable(Field.LOGIN_ID, "user1"));
+        assertEquals(3, lookups("database"));
+
+        service.rebuild();
+        assertTrue(service.isAvailable(Field.LOGIN_ID, "user1"));
+        assertEquals(3, lookups("database"));
+    }
+
+    private void insert(long id, String loginId) {
+        jdbcTemplate.update("insert into users (id, login_id, email, nickname) values (?, ?, ?, ?)",
+                id, loginId, loginId + "@test.com", "닉" + id);
+    }
+
+    private double lookups(String path) {
+        return meterRegistry.get("user.availability.lookups").tag("path", path).counter().count();
+    }
+}
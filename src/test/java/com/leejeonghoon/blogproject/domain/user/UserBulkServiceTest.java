@@ -0,0 +1,151 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserImportError;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserImportSummary;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import com.leejeonghoon.blogproject.domain.user.service.UserBulkFormat;
+import com.leejeonghoon.blogproject.domain.user.service.UserBulkService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserBulkServiceTest {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final List<Object> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserBulkService service = new UserBulkService(jdbcTemplate,
+            new DataSourceTransactionManager(dataSource), passwordEncoder, objectMapper, events::add, meterRegistry,
+            1, false, 3, 2, 2);
+
+    {
+        jdbcTemplate.execute("create table users (id bigint primary key, login_id varchar(255) not null unique, " +
+                "password varchar(255) not null, nickname varchar(255) not null unique, " +
+                "email varchar(255) not null unique, profile_image varchar(255), create_date timestamp, " +
+                "update_date timestamp, role varchar(255), token_version bigint not null, version bigint not null)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @DisplayName("NDJSON 일괄 가입은 실패한 줄만 알리고 나머지는 넣는다")
+    @Test
+    public void NDJSON_일괄_가입() throws Exception {
+        String input = String.join("\n",
+                json("user1", "user1@test.com", "닉1"),
+                json("user2", "user2@test.com", "닉2"),
+                "{not json",
+                json("user1", "other@test.com", "닉3"),
+                "",
+                "{\"loginId\":\"user4\",\"email\":\"user4@test.com\",\"nickname\":\"닉4\"}",
+                "{\"loginId\":\"user5\",\"passwordHash\":\"{bcrypt}" + passwordEncoder.encode("pw") +
+                        "\",\"email\":\"user5@test.com\",\"nickname\":\"닉5\",\"role\":\"ADMIN\"}",
+                json("user6", "user2@test.com", "닉6"));
+
+        List<UserImportError> errors = new ArrayList<>();
+        UserImportSummary summary = service.importUsers(stream(input), UserBulkFormat.NDJSON, errors::add);
+
+        assertEquals(7, summary.getTotal());
+        assertEquals(3, summary.getImported());
+        assertEquals(4, summary.getFailed());
+        assertEquals(List.of(3L, 4L, 6L, 8L), errors.stream().map(UserImportError::getLine).sorted().toList());
+
+        String hash = jdbcTemplate.queryForObject("select password from users where login_id = 'user1'", String.class);
+        assertTrue(passwordEncoder.matches("password", hash));
+        assertEquals("ROLE_ADMIN",
+                jdbcTemplate.queryForObject("select role from users where login_id = 'user5'", String.class));
+
+        // 넣은 행마다 다른 노드에도 전달될 변경 이벤트가 발행된다.
+        Long user2Id = jdbcTemplate.queryForObject("select id from users where login_id = 'user2'", Long.class);
+        assertEquals(List.of("user1", "user2", "user5"), events.stream()
+                .map(event -> ((UserChangedEvent) event).loginId()).sorted().toList());
+        assertTrue(events.contains(UserChangedEvent.changed(user2Id, "user2", "user2@test.com", "닉2")));
+    }
+
+    @DisplayName("이미 가입된 값과 겹치는 CSV 행은 거절하고, 따옴표로 감싼 값을 읽는다")
+    @Test
+    public void CSV_일괄_가입() throws Exception {
+        service.importUsers(stream(json("existing", "existing@test.com", "기존")), UserBulkFormat.NDJSON, e -> {});
+
+        String input = "nickname,loginId,email,password\n" +
+                "\"쉼표, 닉네임\",csv1,csv1@test.com,pw\n" +
+                "\"따옴표 \"\"닉\"\"\",csv2,csv2@test.com,pw\n" +
+                "기존,csv3,csv3@test.com,pw\n";
+
+        List<UserImportError> errors = new ArrayList<>();
+        UserImportSummary summary = service.importUsers(stream(input), UserBulkFormat.CSV, errors::add);
+
+        assertEquals(2, summary.getImported());
+        assertEquals(1, errors.size());
+        assertEquals(4, errors.get(0).getLine());
+        assertEquals("이미 사용중인 닉네임입니다.", errors.get(0).getError());
+        assertEquals("쉼표, 닉네임",
+                jdbcTemplate.queryForObject("select nickname from users where login_id = 'csv1'", String.class));
+        assertEquals("따옴표 \"닉\"",
+                jdbcTemplate.queryForObject("select nickname from users where login_id = 'csv2'", String.class));
+    }
+
+    @DisplayName("내보내기는 여러 페이지에 걸친 전체 사용자를 id 순서로 쓴다")
+    @Test
+    public void 키셋_페이지로_내보낸다() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            input.append(json("export" + i, "export" + i + "@test.com", "닉,네임" + i)).append('\n');
+        }
+        service.importUsers(stream(input.toString()), UserBulkFormat.NDJSON, e -> {});
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        service.exportUsers(UserBulkFormat.NDJSON, ndjson);
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(7, lines.size());
+        assertFalse(lines.get(0).contains("password"));
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(ids.stream().sorted().toList(), ids);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        service.exportUsers(UserBulkFormat.CSV, csv);
+        List<String> rows = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(8, rows.size());
+        assertTrue(rows.get(1).contains("\"닉,네임0\""));
+    }
+
+    private static String json(String loginId, String email, String nickname) {
+        return "{\"loginId\":\"" + loginId + "\",\"password\":\"password\",\"email\":\"" + email +
+                "\",\"nickname\":\"" + nickname + "\"}";
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,8 +5,12 @@ import com.leejeonghoon.blogproject.common.config.SecurityConfig;
 import com.leejeonghoon.blogproject.domain.user.controller.UserController;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserLoginRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserRegisterRequestDto;
+import com.leejeonghoon.blogproject.domain.user.dto.request.UserTokenRefreshRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.request.UserUpdateRequestDto;
 import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.service.NicknameSearchService;
+import com.leejeonghoon.blogproject.domain.user.service.UserAvailabilityService;
+import com.leejeonghoon.blogproject.domain.user.service.UserDirectoryService;
 import com.leejeonghoon.blogproject.domain.user.service.UserService;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
@@ -23,11 +27,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +52,15 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserAvailabilityService userAvailabilityService;
+
+    @MockitoBean
+    private NicknameSearchService nicknameSearchService;
+
+    @MockitoBean
+    private UserDirectoryService userDirectoryService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -144,5 +162,54 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("updated@example.com"));
     }
 
+    @Order(4)
+    @DisplayName("프로필 ETag 가 같으면 304 를 본문 없이 돌려준다")
+    @WithMockUser(username = "testUser", roles = {"USER"})
+    @Test
+    public void 프로필_조건부_조회_테스트() throws Exception {
+        UserResponseDto responseDto = UserResponseDto.builder()
+                .loginId("testUser")
+                .nickname("testNickname")
+                .versionTag("42.3")
+                .build();
+
+        Mockito.when(userService.getUserInfoByLoginId("testUser")).thenReturn(responseDto);
+
+        mockMvc.perform(get("/api/users/my_info"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42.3\""))
+                .andExpect(jsonPath("$.nickname").value("testNickname"))
+                .andExpect(jsonPath("$.versionTag").doesNotExist());
+
+        mockMvc.perform(get("/api/users/my_info").header("If-None-Match", "\"42.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/users/my_info").header("If-None-Match", "\"42.2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Order(5)
+    @DisplayName("토큰 재발급은 리프레시 토큰을 쿼리 파라미터가 아니라 본문으로 받는다")
+    @WithMockUser(username = "testUser", roles = {"USER"})
+    @Test
+    public void 토큰_재발급_테스트() throws Exception {
+        Mockito.when(userService.refreshToken("mockedRefreshToken"))
+                .thenReturn(Map.of("token", "newAccessToken", "refreshToken", "newRefreshToken"));
+
+        mockMvc.perform(post("/api/users/token/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                UserTokenRefreshRequestDto.builder().refreshToken("mockedRefreshToken").build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("newAccessToken"))
+                .andExpect(jsonPath("$.refreshToken").value("newRefreshToken"));
 
+        mockMvc.perform(post("/api/users/token/refresh")
+                        .with(csrf())
+                        .param("refreshToken", "mockedRefreshToken"))
+                .andExpect(status().is4xxClientError());
+        Mockito.verify(userService, Mockito.times(1)).refreshToken(anyString());
+    }
 }
@@ -0,0 +1,135 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryEntry;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserDirectoryPage;
+import com.leejeonghoon.blogproject.domain.user.entity.Role;
+import com.leejeonghoon.blogproject.domain.user.service.ProfileImageService;
+import com.leejeonghoon.blogproject.domain.user.service.UserDirectoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDirectoryServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:directory-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserDirectoryService service = new UserDirectoryService(jdbcTemplate,
+            new DataSourceTransactionManager(dataSource), new ProfileImageService(null, null, null), objectMapper,
+            meterRegistry, 10, 4);
+
+    {
+        jdbcTemplate.execute("create table users (id bigint primary key, nickname varchar(255) not null unique, " +
+                "profile_image varchar(255), role varchar(255), create_date timestamp not null)");
+        jdbcTemplate.execute("create index idx_users_create_date_id on users (create_date, id)");
+        // 세 명씩 같은 시각에 가입한 것으로 넣어 같은 create_date 안에서도 id 로 이어지는지 본다.
+        for (int i = 1; i <= 23; i++) {
+            jdbcTemplate.update("insert into users (id, nickname, role, create_date) values (?, ?, ?, ?)",
+                    i, (i % 2 == 0 ? "dev_" : "닉") + i, i % 5 == 0 ? "ROLE_ADMIN" : "ROLE_USER",
+                    Timestamp.valueOf(BASE.plusMinutes(i / 3)));
+        }
+    }
+
+    @DisplayName("커서를 따라가면 모든 사용자를 가입 최신순으로 빠짐없이 한 번씩 읽는다")
+    @Test
+    public void 커서로_끝까지_읽는다() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            UserDirectoryPage page = service.list(cursor, 5, null, null);
+            page.getUsers().forEach(user -> ids.add(user.getUserId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        List<Long> expected = new ArrayList<>();
+        for (long i = 23; i >= 1; i--) {
+            expected.add(i);
+        }
+        assertEquals(expected, ids);
+        // JdbcTemplate 페이지 쿼리도 리포지토리 호출과 같은 지표에 기록된다.
+        assertEquals(5, meterRegistry.get("repository.query")
+                .tag("repository", "UserDirectoryService")
+                .tag("method", "page")
+                .tag("outcome", "success")
+                .timer().count());
+    }
+
+    @DisplayName("닉네임 접두사와 역할로 거르고, LIKE 특수문자는 그대로 비교한다")
+    @Test
+    public void 필터() {
+        UserDirectoryPage admins = service.list(null, 10, null, Role.ROLE_ADMIN);
+        assertEquals(List.of(20L, 15L, 10L, 5L), admins.getUsers().stream().map(UserDirectoryEntry::getUserId).toList());
+        assertNull(admins.getNextCursor());
+
+        UserDirectoryPage devs = service.list(null, 3, "dev_1", null);
+        assertEquals(List.of(18L, 16L, 14L), devs.getUsers().stream().map(UserDirectoryEntry::getUserId).toList());
+        UserDirectoryPage rest = service.list(devs.getNextCursor(), 3, "dev_1", null);
+        assertEquals(List.of(12L, 10L), rest.getUsers().stream().map(UserDirectoryEntry::getUserId).toList());
+
+        // '_' 가 한 글자 와일드카드로 해석되면 devX... 도 걸린다.
+        jdbcTemplate.update("insert into users (id, nickname, role, create_date) values (100, 'devX1', 'ROLE_USER', ?)",
+                Timestamp.valueOf(BASE));
+        assertTrue(service.list(null, 10, "dev_", null).getUsers().stream()
+                .noneMatch(user -> user.getNickname().equals("devX1")));
+    }
+
+    @DisplayName("페이지 크기는 최대값으로 잘리고, 잘못된 커서는 거절한다")
+    @Test
+    public void 잘못된_요청() {
+        assertEquals(10, service.list(null, 1000, null, null).getUsers().size());
+        assertThrows(IllegalArgumentException.class, () -> service.list("not-a-cursor", 5, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.list(null, 0, null, null));
+    }
+
+    @DisplayName("프로필 이미지는 저장소 키가 아닌 제공 URL 로 내보낸다")
+    @Test
+    public void 이미지_URL() {
+        String key = "ab/cd/" + "ab".repeat(32) + ".png";
+        jdbcTemplate.update("update users set profile_image = ? where id = 23", key);
+        jdbcTemplate.update("update users set profile_image = ? where id = 22", ProfileImageService.DEFAULT_PROFILE_IMAGE);
+
+        List<UserDirectoryEntry> users = service.list(null, 2, null, null).getUsers();
+        assertEquals(ProfileImageService.IMAGE_URL_PREFIX + key, users.get(0).getProfileImg());
+        assertEquals(ProfileImageService.DEFAULT_PROFILE_IMAGE, users.get(1).getProfileImg());
+    }
+
+    @DisplayName("스트리밍은 페이지를 이어 읽어 조건에 맞는 전체를 NDJSON 으로 쓴다")
+    @Test
+    public void NDJSON_스트리밍() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.stream(null, Role.ROLE_USER, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(19, lines.length);
+        UserDirectoryEntry first = objectMapper.readValue(lines[0], UserDirectoryEntry.class);
+        assertEquals(23L, first.getUserId());
+        assertEquals("ROLE_USER", first.getRole());
+        assertEquals(1L, objectMapper.readValue(lines[18], UserDirectoryEntry.class).getUserId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.cache.LocalOnlyUserProfileCache;
+import com.leejeonghoon.blogproject.domain.user.cache.UserProfileCache;
+import com.leejeonghoon.blogproject.domain.user.dto.response.UserResponseDto;
+import com.leejeonghoon.blogproject.domain.user.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserProfileCacheTest {
+
+    private final UserProfileCache cache =
+            new UserProfileCache(new LocalOnlyUserProfileCache(), new SimpleMeterRegistry(), 100, 60_000, 0);
+
+    @DisplayName("같은 키의 동시 미스는 한 번만 DB에서 읽는다")
+    @Test
+    public void 동시_미스는_한_번만_로드한다() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getByLoginId("user", () -> {
+                        loads.incrementAndGet();
+                        sleep();
+                        return profile("user", "닉네임");
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<UserResponseDto> result : results) {
+                assertEquals("닉네임", result.get().getNickname());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("사용자 변경 이벤트를 받으면 아이디와 변경 전후 닉네임 항목을 비운다")
+    @Test
+    public void 변경_이벤트로_항목을_비운다() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getByLoginId("user", () -> counted(loads, profile("user", "예전닉네임")));
+        cache.getByNickname("예전닉네임", () -> counted(loads, profile("user", "예전닉네임")));
+        cache.getByNickname("다른사용자", () -> counted(loads, profile("other", "다른사용자")));
+        assertEquals(3, loads.get());
+
+        cache.onUserChanged(UserChangedEvent.changed(1L, "user", "user@test.com", "새닉네임", "예전닉네임"));
+
+        cache.getByLoginId("user", () -> counted(loads, profile("user", "새닉네임")));
+        cache.getByNickname("예전닉네임", () -> counted(loads, profile("user", "새닉네임")));
+        cache.getByNickname("다른사용자", () -> counted(loads, profile("other", "다른사용자")));
+        assertEquals(5, loads.get());
+    }
+
+    @DisplayName("로더가 실패하면 캐시하지 않는다")
+    @Test
+    public void 실패는_캐시하지_않는다() {
+        assertThrows(IllegalArgumentException.class, () -> cache.getByNickname("없는사용자", () -> {
+            throw new IllegalArgumentException("해당 닉네임의 유저를 찾을 수 없습니다.");
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    private static UserResponseDto profile(String loginId, String nickname) {
+        return UserResponseDto.builder().loginId(loginId).nickname(nickname).build();
+    }
+
+    private static UserResponseDto counted(AtomicInteger loads, UserResponseDto profile) {
+        loads.incrementAndGet();
+        return profile;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.leejeonghoon.blogproject.domain.user;
+
+import com.leejeonghoon.blogproject.domain.user.dto.request.UserRegisterRequestDto;
+import com.leejeonghoon.blogproject.domain.user.repository.UserRepository;
+import com.leejeonghoon.blogproject.domain.user.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2(test 프로필)에서 실제 INSERT 와 유니크 제약으로 가입 중복을 판단하는지 확인한다.
+@SpringBootTest
+public class UserRegistrationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatementCountingDataSource dataSource;
+
+    @DisplayName("가입은 중복 확인 SELECT 없이 INSERT 한 번으로 끝난다(커밋 후 리스너의 JdbcTemplate 쿼리 포함)")
+    @Test
+    public void 가입은_INSERT_한_번이다() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        List<String> statements = dataSource.record(() -> userService.register(
+                request("single" + suffix, "single" + suffix + "@test.com", "single" + suffix), null));
+
+        assertEquals(1, statements.size(), () -> "실행된 SQL: " + statements);
+        assertTrue(statements.get(0).toLowerCase().startsWith("insert into users"), statements::toString);
+    }
+
+    @DisplayName("같은 아이디로 동시에 가입하면 한 명만 성공하고 나머지는 아이디 중복 메시지를 받는다")
+    @Test
+    public void 동시_가입은_한_명만_성공한다() throws Exception {
+        String loginId = "race" + UUID.randomUUID().toString().substring(0, 8);
+        List<Throwable> failures = register(i -> request(loginId, loginId + i + "@test.com", loginId + i));
+
+        assertEquals(THREADS - 1, failures.size());
+        for (Throwable failure : failures) {
+            assertInstanceOf(IllegalArgumentException.class, failure);
+            assertEquals("이미 존재하는 아이디 입니다.", failure.getMessage());
+        }
+        assertTrue(userRepository.findByLoginId(loginId).isPresent());
+    }
+
+    @DisplayName("이메일과 닉네임 중복도 제약 이름으로 구분해 알린다")
+    @Test
+    public void 필드별_중복_메시지() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userService.register(request("owner" + suffix, "owner" + suffix + "@test.com", "owner" + suffix), null);
+
+        UserRegisterRequestDto sameEmail = request("other" + suffix, "owner" + suffix + "@test.com", "other" + suffix);
+        IllegalArgumentException email =
+                assertThrows(IllegalArgumentException.class, () -> userService.register(sameEmail, null));
+        assertEquals("이미 존재하는 Email 주소입니다.", email.getMessage());
+
+        UserRegisterRequestDto sameNickname = request("other" + suffix, "other" + suffix + "@test.com", "owner" + suffix);
+        IllegalArgumentException nickname =
+                assertThrows(IllegalArgumentException.class, () -> userService.register(sameNickname, null));
+        assertEquals("이미 사용중인 닉네임입니다.", nickname.getMessage());
+
+        assertTrue(userRepository.findByLoginId("other" + suffix).isEmpty());
+    }
+
+    private List<Throwable> register(IntFunction<UserRegisterRequestDto> requests)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                UserRegisterRequestDto request = requests.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.register(request, null);
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static UserRegisterRequestDto request(String loginId, String email, String nickname) {
+        return UserRegisterRequestDto.builder()
+                .loginId(loginId)
+                .password("password")
+                .email(email)
+                .nickname(nickname)
+                .build();
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new StatementCountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // JPA 와 JdbcTemplate 을 가리지 않고 커넥션 수준에서 SQL 을 기록한다.
+    // PreparedStatement/CallableStatement 는 만들 때, 일반 Statement 는 실행할 때 센다.
+    // 다른 스레드(스케줄러 등)의 쿼리가 섞이지 않도록 record 를 부른 스레드의 것만 모은다.
+    // 감싼 풀도 컨텍스트 종료 시 닫히도록 close 를 넘긴다.
+    static class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private final ThreadLocal<List<String>> recorded = new ThreadLocal<>();
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        List<String> record(Runnable action) {
+            List<String> statements = new ArrayList<>();
+            recorded.set(statements);
+            try {
+                action.run();
+            } finally {
+                recorded.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private Connection counting(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                switch (method.getName()) {
+                    case "prepareStatement", "prepareCall" -> add((String) args[0]);
+                    case "createStatement" -> {
+                        return proxy(Statement.class, (Statement) result, (statementMethod, statementArgs, statementResult) -> {
+                            if (statementMethod.getName().startsWith("execute")
+                                    && statementArgs != null && statementArgs[0] instanceof String sql) {
+                                add(sql);
+                            }
+                            return statementResult;
+                        });
+                    }
+                    default -> {
+                    }
+                }
+                return result;
+            });
+        }
+
+        private void add(String sql) {
+            List<String> statements = recorded.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return afterCall.apply(method, args, result);
+            });
+        }
+    }
+}
@@ -51,8 +51,6 @@ public class UserServiceTest {
                 "test data".getBytes()
         );
 
-        when(userRepository.findByLoginId(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(anyString())).thenReturn("암호화된비밀번호");
 
         UserResponseDto userResponseDto = userService.register(userRegisterRequestDto, profileIng);